@@ -0,0 +1,33 @@
+package ru.project.quiz.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Connection settings for benchmarks that need PostgreSQL, taken from system properties
+ * so that they can be forwarded to the forked benchmark JVMs.
+ */
+public final class BenchmarkDatabase {
+    public static final String URL = "bench.jdbc.url";
+    public static final String USERNAME = "bench.jdbc.username";
+    public static final String PASSWORD = "bench.jdbc.password";
+
+    private BenchmarkDatabase() {
+    }
+
+    public static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty(URL, "jdbc:postgresql://localhost:5432/quiz"),
+                System.getProperty(USERNAME, "postgres"),
+                System.getProperty(PASSWORD, "postgres"));
+    }
+
+    public static String[] jvmArgs() {
+        return List.of(URL, USERNAME, PASSWORD).stream()
+                .filter(property -> System.getProperty(property) != null)
+                .map(property -> "-D" + property + "=" + System.getProperty(property))
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.project.quiz.benchmark.hotpath;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.project.quiz.domain.dto.ituser.ITUserDTO;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.domain.entity.ituser.ITUser;
+import ru.project.quiz.mapper.quiz.QuizMapperImpl;
+import ru.project.quiz.repository.ituser.UserRepository;
+import ru.project.quiz.repository.quiz.QuizRepository;
+import ru.project.quiz.service.quiz.Impl.QuizServiceImpl;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code QuizServiceImpl.finishQuiz} with in-memory repositories: validation, grading
+ * and collecting the user's choices, without the database round trips.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FinishQuizBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int questions;
+
+    private ValidatorFactory validatorFactory;
+    private QuizServiceImpl quizService;
+    private QuizDTO quizDTO;
+
+    @Setup
+    public void setUp() {
+        ITUser user = QuizFixtures.user();
+        ITUserDTO userDTO = QuizFixtures.userDTO(1);
+        QuizRepository quizRepository = Stubs.of(QuizRepository.class, Map.of(
+                "getUserIdByQuizID", args -> user.getId(),
+                "finishQuiz", args -> Optional.of(1L)));
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of(
+                "findUserByUsername", args -> Optional.of(user)));
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        quizService = new QuizServiceImpl(quizRepository, null, userRepository, null, null,
+                new QuizMapperImpl(), validatorFactory.getValidator(), new SimpleMeterRegistry());
+        quizDTO = QuizFixtures.quizDTO(questions);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDTO, null, userDTO.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public QuizDTO finishQuiz() {
+        return quizService.finishQuiz(quizDTO);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.project.quiz.benchmark.hotpath;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the hot path benchmarks with the GC profiler ({@code gc.alloc.rate.norm} is bytes per operation)
+ * and writes JSON results to {@code target/hotpath-benchmark.json} (override with {@code -Dbench.result=...}).
+ */
+public class HotPathBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HotPathBenchmarkRunner.class.getPackageName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "target/hotpath-benchmark.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
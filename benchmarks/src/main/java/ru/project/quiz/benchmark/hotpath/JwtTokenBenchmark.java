@@ -0,0 +1,54 @@
+package ru.project.quiz.benchmark.hotpath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.project.quiz.domain.dto.ituser.ITUserDTO;
+import ru.project.quiz.jwt.util.JwtTokenUtil;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    @Param({"1", "3"})
+    public int roles;
+
+    private JwtTokenUtil jwtTokenUtil;
+    private ITUserDTO userDTO;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtTokenUtil = new JwtTokenUtil();
+        Field secret = JwtTokenUtil.class.getDeclaredField("secret");
+        secret.setAccessible(true);
+        secret.set(jwtTokenUtil, "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret");
+        userDTO = QuizFixtures.userDTO(roles);
+        token = jwtTokenUtil.generateToken(userDTO);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(userDTO);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtTokenUtil.validateToken(token, userDTO);
+    }
+}
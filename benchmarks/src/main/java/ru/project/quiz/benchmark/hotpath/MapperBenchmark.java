@@ -0,0 +1,74 @@
+package ru.project.quiz.benchmark.hotpath;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.project.quiz.domain.dto.quiz.QuestionDTO;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.domain.entity.quiz.Question;
+import ru.project.quiz.domain.entity.quiz.QuestionQuiz;
+import ru.project.quiz.domain.entity.quiz.Quiz;
+import ru.project.quiz.mapper.quiz.QuestionMapper;
+import ru.project.quiz.mapper.quiz.QuestionMapperImpl;
+import ru.project.quiz.mapper.quiz.QuizMapper;
+import ru.project.quiz.mapper.quiz.QuizMapperImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int questions;
+
+    private final QuizMapper quizMapper = new QuizMapperImpl();
+    private final QuestionMapper questionMapper = new QuestionMapperImpl();
+
+    private Quiz quiz;
+    private QuizDTO quizDTO;
+    private List<Question> questionList;
+
+    @Setup
+    public void setUp() {
+        quiz = QuizFixtures.quiz(questions);
+        quizDTO = QuizFixtures.quizDTO(questions);
+        questionList = new ArrayList<>(questions);
+        for (QuestionQuiz questionQuiz : quiz.getQuestions()) {
+            questionList.add(questionQuiz.getQuestion());
+        }
+    }
+
+    @Benchmark
+    public QuizDTO quizToDTO() {
+        return quizMapper.quizDTOFromQuiz(quiz);
+    }
+
+    @Benchmark
+    public Quiz quizFromDTO() {
+        return quizMapper.quizFromQuizDTO(quizDTO);
+    }
+
+    @Benchmark
+    public List<QuestionDTO> questionsToDTO() {
+        List<QuestionDTO> result = new ArrayList<>(questionList.size());
+        for (Question question : questionList) {
+            result.add(questionMapper.questionDTOFromQuestion(question));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.project.quiz.benchmark.hotpath;
+
+import ru.project.quiz.domain.dto.ituser.ITUserDTO;
+import ru.project.quiz.domain.dto.ituser.RoleDTO;
+import ru.project.quiz.domain.dto.quiz.AnswerDTO;
+import ru.project.quiz.domain.dto.quiz.QuestionDTO;
+import ru.project.quiz.domain.dto.quiz.QuestionQuizDTO;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.domain.entity.ituser.ITUser;
+import ru.project.quiz.domain.entity.quiz.Answer;
+import ru.project.quiz.domain.entity.quiz.Question;
+import ru.project.quiz.domain.entity.quiz.QuestionQuiz;
+import ru.project.quiz.domain.entity.quiz.Quiz;
+import ru.project.quiz.domain.entity.quiz.QuizSample;
+import ru.project.quiz.domain.enums.ituser.PermissionType;
+import ru.project.quiz.domain.enums.question.CategoryType;
+import ru.project.quiz.domain.enums.question.DifficultyType;
+import ru.project.quiz.domain.enums.question.QuizStatus;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Object graphs shaped like a created quiz: every question has four answers, the first one correct,
+ * and the user picked the correct answer for every other question.
+ */
+final class QuizFixtures {
+    static final int ANSWERS_PER_QUESTION = 4;
+
+    private QuizFixtures() {
+    }
+
+    static Quiz quiz(int questions) {
+        QuizSample quizSample = new QuizSample();
+        quizSample.setId(1);
+        quizSample.setName("java-core");
+        List<QuestionQuiz> questionQuizzes = new ArrayList<>(questions);
+        for (int i = 0; i < questions; i++) {
+            Question question = question(i);
+            questionQuizzes.add(new QuestionQuiz(question, null, choice(i, question.getAnswers().get(0).getId())));
+        }
+        Quiz quiz = new Quiz(quizSample, user(), questionQuizzes, QuizStatus.CREATED, null);
+        quiz.setId(1);
+        return quiz;
+    }
+
+    static QuizDTO quizDTO(int questions) {
+        List<QuestionQuizDTO> questionQuizzes = new ArrayList<>(questions);
+        for (int i = 0; i < questions; i++) {
+            List<AnswerDTO> answers = new ArrayList<>(ANSWERS_PER_QUESTION);
+            for (int a = 0; a < ANSWERS_PER_QUESTION; a++) {
+                AnswerDTO answer = new AnswerDTO("Answer " + a, a == 0);
+                answer.setId(answerId(i, a));
+                answers.add(answer);
+            }
+            QuestionDTO question = new QuestionDTO("Question #" + i, "What does this code print?", null,
+                    DifficultyType.NORMAL, CategoryType.CORE, answers);
+            question.setId(i + 1);
+            QuestionQuizDTO questionQuiz = new QuestionQuizDTO(question, choice(i, answerId(i, 0)));
+            questionQuiz.setId(i + 1);
+            questionQuizzes.add(questionQuiz);
+        }
+        QuizDTO quizDTO = new QuizDTO("Все вопросы удачно добавлены", "java-core", questionQuizzes, QuizStatus.CREATED, null);
+        quizDTO.setId(1L);
+        return quizDTO;
+    }
+
+    static ITUser user() {
+        ITUser user = new ITUser("student", "{bcrypt}hash", "student@example.com", new HashSet<>());
+        user.setId(1);
+        return user;
+    }
+
+    static ITUserDTO userDTO(int roles) {
+        Set<RoleDTO> roleDTOs = new HashSet<>();
+        List<PermissionType> permissions = List.of(PermissionType.values());
+        for (int i = 0; i < roles; i++) {
+            Set<PermissionType> granted = EnumSet.of(permissions.get(i % permissions.size()), PermissionType.GENERATE_TESTS);
+            RoleDTO role = new RoleDTO("ROLE_" + i, granted);
+            role.setId(i + 1);
+            roleDTOs.add(role);
+        }
+        ITUserDTO userDTO = new ITUserDTO("student", "{bcrypt}hash", "student@example.com", roleDTOs);
+        userDTO.setId(1);
+        return userDTO;
+    }
+
+    private static Question question(int index) {
+        List<Answer> answers = new ArrayList<>(ANSWERS_PER_QUESTION);
+        for (int a = 0; a < ANSWERS_PER_QUESTION; a++) {
+            Answer answer = new Answer("Answer " + a, a == 0, null);
+            answer.setId(answerId(index, a));
+            answers.add(answer);
+        }
+        Question question = new Question("Question #" + index, "What does this code print?", null,
+                DifficultyType.NORMAL, CategoryType.CORE, answers);
+        question.setId(index + 1);
+        return question;
+    }
+
+    private static long answerId(int question, int answer) {
+        return (long) question * ANSWERS_PER_QUESTION + answer + 1;
+    }
+
+    private static Long choice(int question, long correctAnswerId) {
+        return question % 2 == 0 ? correctAnswerId : correctAnswerId + 1;
+    }
+}
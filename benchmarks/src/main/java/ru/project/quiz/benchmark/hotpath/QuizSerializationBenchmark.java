@@ -0,0 +1,52 @@
+package ru.project.quiz.benchmark.hotpath;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuizSerializationBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int questions;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private QuizDTO quizDTO;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        quizDTO = QuizFixtures.quizDTO(questions);
+        json = objectMapper.writeValueAsBytes(quizDTO);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(quizDTO);
+    }
+
+    @Benchmark
+    public QuizDTO deserialize() throws Exception {
+        return objectMapper.readValue(json, QuizDTO.class);
+    }
+}
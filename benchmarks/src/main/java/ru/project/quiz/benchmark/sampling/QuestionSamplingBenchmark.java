@@ -0,0 +1,181 @@
+package ru.project.quiz.benchmark.sampling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.project.quiz.benchmark.BenchmarkDatabase;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares ways of drawing {@code quizSize} random questions from the selected categories:
+ * the current {@code ORDER BY RANDOM()} query, the id-list shuffle used by getRandomQuestion,
+ * TABLESAMPLE, random OFFSET probes and an in-memory id index.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class QuestionSamplingBenchmark {
+    private static final long SEED = 20210301L;
+    private static final int TABLESAMPLE_OVERSAMPLING = 3;
+
+    @State(Scope.Benchmark)
+    public static class Bank {
+        @Param({"1000", "100000", "1000000"})
+        public int bankSize;
+
+        @Param({"1", "2", "3"})
+        public int categoryCount;
+
+        @Param({"20"})
+        public int quizSize;
+
+        Connection connection;
+        Random random;
+        long matching;
+        long[] ids;
+
+        PreparedStatement orderByRandom;
+        PreparedStatement allIds;
+        PreparedStatement byIds;
+        PreparedStatement offsetProbe;
+        PreparedStatement tableSample;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            connection = BenchmarkDatabase.connect();
+            String schema = SyntheticQuestionBank.ensure(connection, bankSize, SEED);
+            random = new Random(SEED);
+
+            List<String> categories = SyntheticQuestionBank.CATEGORIES.subList(0, categoryCount);
+            String inCategories = categories.stream().map(c -> "'" + c + "'").collect(Collectors.joining(", ", "(", ")"));
+            String table = schema + ".questions";
+
+            allIds = connection.prepareStatement("SELECT id FROM " + table + " WHERE category_type IN " + inCategories);
+            List<Long> loaded = readIds(allIds);
+            matching = loaded.size();
+            ids = loaded.stream().mapToLong(Long::longValue).toArray();
+
+            double percent = Math.min(100.0, 100.0 * quizSize * TABLESAMPLE_OVERSAMPLING / Math.max(1, matching));
+            orderByRandom = connection.prepareStatement("SELECT * FROM " + table +
+                    " WHERE category_type IN " + inCategories + " ORDER BY RANDOM() LIMIT ?");
+            byIds = connection.prepareStatement("SELECT * FROM " + table + " WHERE id = ANY(?)");
+            offsetProbe = connection.prepareStatement("SELECT * FROM " + table +
+                    " WHERE category_type IN " + inCategories + " ORDER BY category_type, id OFFSET ? LIMIT 1");
+            tableSample = connection.prepareStatement("SELECT * FROM " + table +
+                    " TABLESAMPLE BERNOULLI (" + String.format(Locale.ROOT, "%.6f", percent) + ")" +
+                    " WHERE category_type IN " + inCategories + " ORDER BY RANDOM() LIMIT ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int orderByRandom(Bank bank, Blackhole blackhole) throws SQLException {
+        bank.orderByRandom.setInt(1, bank.quizSize);
+        return readQuestions(bank.orderByRandom, blackhole);
+    }
+
+    @Benchmark
+    public int idShuffle(Bank bank, Blackhole blackhole) throws SQLException {
+        List<Long> ids = readIds(bank.allIds);
+        Collections.shuffle(ids, bank.random);
+        return fetchByIds(bank, ids.subList(0, Math.min(bank.quizSize, ids.size())), blackhole);
+    }
+
+    @Benchmark
+    public int tableSample(Bank bank, Blackhole blackhole) throws SQLException {
+        bank.tableSample.setInt(1, bank.quizSize);
+        int found = readQuestions(bank.tableSample, blackhole);
+        // BERNOULLI may return too few rows; fall back to the full scan like the caller would
+        return found < Math.min(bank.quizSize, bank.matching) ? orderByRandom(bank, blackhole) : found;
+    }
+
+    @Benchmark
+    public int offsetProbes(Bank bank, Blackhole blackhole) throws SQLException {
+        int found = 0;
+        for (Long offset : distinctIndexes(bank)) {
+            bank.offsetProbe.setLong(1, offset);
+            found += readQuestions(bank.offsetProbe, blackhole);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int inMemoryIndex(Bank bank, Blackhole blackhole) throws SQLException {
+        List<Long> picked = new ArrayList<>(bank.quizSize);
+        for (Long index : distinctIndexes(bank)) {
+            picked.add(bank.ids[index.intValue()]);
+        }
+        return fetchByIds(bank, picked, blackhole);
+    }
+
+    private static Set<Long> distinctIndexes(Bank bank) {
+        int size = (int) Math.min(bank.quizSize, bank.matching);
+        Set<Long> indexes = new HashSet<>(size * 2);
+        while (indexes.size() < size) {
+            indexes.add((long) bank.random.nextInt((int) bank.matching));
+        }
+        return indexes;
+    }
+
+    private static int fetchByIds(Bank bank, List<Long> ids, Blackhole blackhole) throws SQLException {
+        Array array = bank.connection.createArrayOf("int8", ids.toArray());
+        bank.byIds.setArray(1, array);
+        return readQuestions(bank.byIds, blackhole);
+    }
+
+    private static List<Long> readIds(PreparedStatement statement) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static int readQuestions(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong("id"));
+                blackhole.consume(resultSet.getString("name"));
+                blackhole.consume(resultSet.getString("description"));
+                blackhole.consume(resultSet.getString("category_type"));
+                blackhole.consume(resultSet.getString("difficulty_type"));
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
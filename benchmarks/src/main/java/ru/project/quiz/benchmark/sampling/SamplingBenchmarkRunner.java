@@ -0,0 +1,27 @@
+package ru.project.quiz.benchmark.sampling;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.project.quiz.benchmark.BenchmarkDatabase;
+
+/**
+ * Runs {@link QuestionSamplingBenchmark} with the GC profiler and writes JSON results
+ * to {@code target/sampling-benchmark.json} (override with {@code -Dbench.result=...}).
+ */
+public class SamplingBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QuestionSamplingBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend(BenchmarkDatabase.jvmArgs())
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "target/sampling-benchmark.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
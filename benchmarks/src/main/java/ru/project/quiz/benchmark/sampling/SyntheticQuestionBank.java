@@ -0,0 +1,84 @@
+package ru.project.quiz.benchmark.sampling;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import ru.project.quiz.domain.enums.question.CategoryType;
+import ru.project.quiz.domain.enums.question.DifficultyType;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Question bank with the production layout of {@code questions}, generated deterministically
+ * from a seed into its own schema ({@code quiz_bench_<size>}) and reused between runs.
+ */
+public final class SyntheticQuestionBank {
+    public static final List<String> CATEGORIES = Arrays.stream(CategoryType.values()).map(Enum::name).collect(Collectors.toUnmodifiableList());
+    private static final List<String> DIFFICULTIES = Arrays.stream(DifficultyType.values()).map(Enum::name).collect(Collectors.toUnmodifiableList());
+    private static final int COPY_CHUNK = 50_000;
+
+    private SyntheticQuestionBank() {
+    }
+
+    public static String ensure(Connection connection, int size, long seed) throws SQLException, IOException {
+        String schema = "quiz_bench_" + size;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            statement.execute("CREATE TABLE IF NOT EXISTS " + schema + ".questions (" +
+                    "id int8 NOT NULL PRIMARY KEY, created_at timestamp, updated_at timestamp, " +
+                    "category_type varchar(255), description varchar(255), difficulty_type varchar(255), " +
+                    "image_url varchar(255), name varchar(255))");
+            statement.execute("CREATE TABLE IF NOT EXISTS " + schema + ".bank_seed (seed int8 NOT NULL)");
+            if (count(statement, schema) == size && seed(statement, schema) == seed) {
+                return schema;
+            }
+            statement.execute("TRUNCATE " + schema + ".questions, " + schema + ".bank_seed");
+            copy(connection, schema, size, seed);
+            statement.execute("INSERT INTO " + schema + ".bank_seed VALUES (" + seed + ")");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_questions_category_type_id ON " + schema + ".questions (category_type, id)");
+            statement.execute("ANALYZE " + schema + ".questions");
+        }
+        return schema;
+    }
+
+    private static void copy(Connection connection, String schema, int size, long seed) throws SQLException, IOException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        String sql = "COPY " + schema + ".questions (id, created_at, updated_at, category_type, description, difficulty_type, image_url, name) FROM STDIN";
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder chunk = new StringBuilder();
+        for (int id = 1; id <= size; id++) {
+            chunk.append(id).append('\t')
+                    .append("2021-01-01 00:00:00\t2021-01-01 00:00:00\t")
+                    .append(CATEGORIES.get(random.nextInt(CATEGORIES.size()))).append('\t')
+                    .append("Synthetic question description ").append(random.nextInt(1_000_000)).append('\t')
+                    .append(DIFFICULTIES.get(random.nextInt(DIFFICULTIES.size()))).append('\t')
+                    .append("\\N\t")
+                    .append("Question #").append(id).append('\n');
+            if (id % COPY_CHUNK == 0 || id == size) {
+                copyManager.copyIn(sql, new StringReader(chunk.toString()));
+                chunk.setLength(0);
+            }
+        }
+    }
+
+    private static long count(Statement statement, String schema) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM " + schema + ".questions")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static long seed(Statement statement, String schema) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT seed FROM " + schema + ".bank_seed")) {
+            return resultSet.next() ? resultSet.getLong(1) : Long.MIN_VALUE;
+        }
+    }
+}
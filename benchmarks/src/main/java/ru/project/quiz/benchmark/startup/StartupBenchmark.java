@@ -0,0 +1,110 @@
+package ru.project.quiz.benchmark.startup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the app as on Heroku ({@code webapp-runner} with the war, profile {@code embedded})
+ * to the first successful login, which goes through security, JPA, bcrypt and Jackson.
+ * Every invocation starts a new process; run from the project root after {@code mvn -B package},
+ * with {@code -Pappcds} for the {@code fastStartAppCds} mode.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    private static final String LOGIN = "{\"username\":\"admin\",\"password\":\"admin\"}";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    @Param({"default", "fastStart", "fastStartAppCds"})
+    public String mode;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private Process process;
+
+    @Benchmark
+    public int timeToFirstSuccessfulRequest() throws IOException, InterruptedException {
+        int port = Integer.getInteger("bench.startup.port", 8090);
+        process = new ProcessBuilder(command(port))
+                .directory(new File(System.getProperty("bench.startup.dir", ".")))
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("bench.startup.log", "target/startup-app.log")))
+                .start();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN))
+                .build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Приложение завершилось с кодом " + process.exitValue());
+            }
+            try {
+                HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (IOException e) {
+                //the port is not open yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Приложение не ответило за " + START_TIMEOUT);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        process = null;
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        String profiles = "embedded";
+        if (!mode.equals("default")) {
+            profiles += ",fast-start";
+        }
+        if (mode.equals("fastStartAppCds")) {
+            command.add("-XX:SharedArchiveFile=target/quiz.jsa");
+            command.add("-Xshare:on");
+        }
+        command.add("-Dspring.profiles.active=" + profiles);
+        command.add("-jar");
+        command.add("target/dependency/webapp-runner.jar");
+        command.add("--port");
+        command.add(String.valueOf(port));
+        command.add(System.getProperty("bench.startup.war", "target/quiz-0.0.1-SNAPSHOT.war"));
+        return command;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.project.quiz.benchmark.startup;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+
+/**
+ * Runs {@link StartupBenchmark} and writes JSON results to {@code target/startup-benchmark.json}
+ * (override with {@code -Dbench.result=...}). Only modes from {@code -Dbench.startup.modes=default,fastStart}
+ * are run when it is set, e.g. without an AppCDS archive.
+ */
+public class StartupBenchmarkRunner {
+    private static final List<String> PROPERTIES = List.of("bench.startup.port", "bench.startup.dir",
+            "bench.startup.log", "bench.startup.war");
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(StartupBenchmark.class.getName())
+                .jvmArgsAppend(PROPERTIES.stream()
+                        .filter(property -> System.getProperty(property) != null)
+                        .map(property -> "-D" + property + "=" + System.getProperty(property))
+                        .toArray(String[]::new))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "target/startup-benchmark.json"));
+        String modes = System.getProperty("bench.startup.modes");
+        if (modes != null) {
+            options.param("mode", modes.split(","));
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package ru.project.quiz.datagen;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --key=value} form, see {@link #USAGE}.
+ */
+final class DataGenOptions {
+    static final String USAGE = String.join("\n",
+            "java -jar datagen.jar [--ключ=значение ...]",
+            "  --url=jdbc:postgresql://localhost:5432/quiz --username=postgres --password=postgres",
+            "  --seed=42                    seed, одинаковый seed на пустой базе даёт одинаковые данные",
+            "  --truncate=false             очистить таблицы и сбросить hibernate_sequence перед генерацией",
+            "  --questions=1000000          вопросов (по --answers ответов на каждый)",
+            "  --answers=4",
+            "  --users=50000",
+            "  --samples=50",
+            "  --quizzes=100000             исторических тестов",
+            "  --questions-per-quiz=20",
+            "  --history-months=12          за сколько месяцев до --history-end распределить тесты",
+            "  --history-end=<1-е число текущего месяца>",
+            "  --user-password=password     пароль всех пользователей");
+
+    final String url;
+    final String username;
+    final String password;
+    final long seed;
+    final boolean truncate;
+    final int questions;
+    final int answers;
+    final int users;
+    final int samples;
+    final int quizzes;
+    final int questionsPerQuiz;
+    final int historyMonths;
+    final LocalDate historyEnd;
+    final String userPassword;
+
+    private DataGenOptions(Map<String, String> values) {
+        url = take(values, "url", "jdbc:postgresql://localhost:5432/quiz");
+        username = take(values, "username", "postgres");
+        password = take(values, "password", "postgres");
+        seed = Long.parseLong(take(values, "seed", "42"));
+        truncate = Boolean.parseBoolean(take(values, "truncate", "false"));
+        questions = Integer.parseInt(take(values, "questions", "1000000"));
+        answers = Integer.parseInt(take(values, "answers", "4"));
+        users = Integer.parseInt(take(values, "users", "50000"));
+        samples = Integer.parseInt(take(values, "samples", "50"));
+        quizzes = Integer.parseInt(take(values, "quizzes", "100000"));
+        questionsPerQuiz = Integer.parseInt(take(values, "questions-per-quiz", "20"));
+        historyMonths = Integer.parseInt(take(values, "history-months", "12"));
+        historyEnd = LocalDate.parse(take(values, "history-end", LocalDate.now().withDayOfMonth(1).toString()));
+        userPassword = take(values, "user-password", "password");
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Неизвестные параметры: " + values.keySet());
+        }
+        if (questions < 1 || answers < 2 || users < 1 || samples < 1 || quizzes < 0 || questionsPerQuiz < 1 || historyMonths < 1) {
+            throw new IllegalArgumentException("Нужен хотя бы 1 вопрос, пользователь, сэмпл и месяц истории и 2 ответа на вопрос");
+        }
+    }
+
+    static DataGenOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ожидается --ключ=значение, получено: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new DataGenOptions(values);
+    }
+
+    private static String take(Map<String, String> values, String key, String defaultValue) {
+        String value = values.remove(key);
+        return value == null ? defaultValue : value;
+    }
+}
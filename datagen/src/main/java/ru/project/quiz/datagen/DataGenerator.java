@@ -0,0 +1,337 @@
+package ru.project.quiz.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Fills the quiz schema (as created by the Flyway migrations) with a synthetic but realistic data set:
+ * a skewed question bank, users, quiz samples and historical quizzes, written with COPY in one transaction.
+ * Everything is derived from the seed, so on an empty database (or with --truncate) runs are identical.
+ */
+public class DataGenerator {
+    private static final String[] CATEGORIES = {"CORE", "COLLECTIONS", "IO"};
+    private static final WeightedChoice CATEGORY_SKEW = new WeightedChoice(0.55, 0.30, 0.15);
+    private static final String[] DIFFICULTIES = {"EASY", "NORMAL", "HARD"};
+    private static final WeightedChoice DIFFICULTY_SKEW = new WeightedChoice(0.50, 0.35, 0.15);
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final double FINISHED_SHARE = 0.9;
+    private static final double CORRECT_SHARE = 0.6;
+    private static final String USER_ROLE = "USER";
+    private static final String USER_PERMISSION = "GENERATE_TESTS";
+    private static final int BCRYPT_STRENGTH = 10;
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final long USERS_STREAM = 0x5553455253L;
+    private static final long SAMPLES_STREAM = 0x53414d504cL;
+    private static final long QUESTIONS_STREAM = 0x5155455354L;
+    private static final long QUIZZES_STREAM = 0x5155495a5aL;
+
+    private final DataGenOptions options;
+    private final Connection connection;
+    private final CopyManager copyManager;
+    private final LocalDateTime historyStart;
+    private final long historySeconds;
+
+    private long nextId;
+    private long firstUserId;
+    private long firstSampleId;
+    private int[][] sampleCategories;
+    private long firstQuestionId;
+    private long firstAnswerId;
+    private byte[] correctAnswers;
+    private int[][] questionsByCategory;
+
+    DataGenerator(DataGenOptions options, Connection connection) throws SQLException {
+        this.options = options;
+        this.connection = connection;
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        this.historyStart = options.historyEnd.minusMonths(options.historyMonths).atStartOfDay();
+        this.historySeconds = ChronoUnit.SECONDS.between(historyStart, options.historyEnd.atStartOfDay());
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataGenOptions options;
+        try {
+            options = DataGenOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(DataGenOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(options.url, options.username, options.password)) {
+            connection.setAutoCommit(false);
+            try {
+                new DataGenerator(options, connection).generate();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    void generate() throws Exception {
+        long started = System.nanoTime();
+        if (options.truncate) {
+            execute("TRUNCATE questions_quiz, quiz, answers, questions, categories, quiz_sample, users_roles, users CASCADE");
+            execute("ALTER SEQUENCE hibernate_sequence RESTART WITH 1");
+        }
+        reserveIds();
+        step("Пользователи", this::users);
+        step("Сэмплы", this::samples);
+        step("Вопросы", this::questions);
+        step("Ответы", this::answers);
+        step("Партиции", this::partitions);
+        step("Тесты", this::quizzes);
+        step("Вопросы тестов", this::questionsQuiz);
+        step("ANALYZE", () -> execute("ANALYZE users; ANALYZE quiz_sample; ANALYZE categories; ANALYZE questions; " +
+                "ANALYZE answers; ANALYZE quiz; ANALYZE questions_quiz"));
+        System.out.printf("Готово за %d с%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+    }
+
+    /**
+     * Takes a block of ids from hibernate_sequence up front so the application keeps allocating after it.
+     */
+    private void reserveIds() throws SQLException {
+        long needed = (long) options.users + options.samples * (1L + CATEGORIES.length)
+                + (long) options.questions * (1 + options.answers)
+                + (long) options.quizzes * (1 + options.questionsPerQuiz);
+        nextId = queryLong("SELECT nextval('hibernate_sequence')");
+        queryLong("SELECT setval('hibernate_sequence', " + (nextId + needed) + ")");
+    }
+
+    private void users() throws Exception {
+        execute("INSERT INTO roles (name) VALUES ('" + USER_ROLE + "') ON CONFLICT DO NOTHING");
+        execute("INSERT INTO permissions (role_name, permission) SELECT '" + USER_ROLE + "', '" + USER_PERMISSION + "' " +
+                "WHERE NOT EXISTS (SELECT 1 FROM permissions WHERE role_name = '" + USER_ROLE + "' AND permission = '" + USER_PERMISSION + "')");
+        // one hash for everyone: bcrypt is deliberately slow and the password is the same anyway
+        String passwordHash = BCrypt.hashpw(options.userPassword, BCrypt.gensalt(BCRYPT_STRENGTH, seededSecureRandom()));
+        SplittableRandom random = new SplittableRandom(options.seed ^ USERS_STREAM);
+        firstUserId = nextId;
+        try (CopyWriter users = new CopyWriter(copyManager, "users", "id, created_at, updated_at, email, password, username")) {
+            for (int i = 0; i < options.users; i++) {
+                LocalDateTime createdAt = historyStart.minusSeconds(random.nextLong(365L * 24 * 3600));
+                users.row(nextId++, createdAt, createdAt, "user" + i + "@datagen.local", passwordHash, "user" + i);
+            }
+        }
+        try (CopyWriter usersRoles = new CopyWriter(copyManager, "users_roles", "itusers_id, roles_name")) {
+            for (int i = 0; i < options.users; i++) {
+                usersRoles.row(firstUserId + i, USER_ROLE);
+            }
+        }
+    }
+
+    private void samples() throws Exception {
+        SplittableRandom random = new SplittableRandom(options.seed ^ SAMPLES_STREAM);
+        sampleCategories = new int[options.samples][];
+        firstSampleId = nextId;
+        nextId += options.samples;
+        try (CopyWriter samples = new CopyWriter(copyManager, "quiz_sample", "id, created_at, updated_at, name")) {
+            for (int i = 0; i < options.samples; i++) {
+                samples.row(firstSampleId + i, historyStart, historyStart, "sample-" + i);
+                sampleCategories[i] = IntStream.generate(() -> CATEGORY_SKEW.next(random))
+                        .limit(1 + random.nextInt(CATEGORIES.length)).distinct().toArray();
+            }
+        }
+        try (CopyWriter categories = new CopyWriter(copyManager, "categories", "id, created_at, updated_at, name, quiz_sample_id")) {
+            for (int i = 0; i < options.samples; i++) {
+                for (int category : sampleCategories[i]) {
+                    categories.row(nextId++, historyStart, historyStart, CATEGORIES[category], firstSampleId + i);
+                }
+            }
+        }
+    }
+
+    private void questions() throws Exception {
+        SplittableRandom random = new SplittableRandom(options.seed ^ QUESTIONS_STREAM);
+        byte[] categories = new byte[options.questions];
+        int[] perCategory = new int[CATEGORIES.length];
+        correctAnswers = new byte[options.questions];
+        firstQuestionId = nextId;
+        nextId += options.questions;
+        try (CopyWriter questions = new CopyWriter(copyManager, "questions",
+                "id, created_at, updated_at, category_type, description, difficulty_type, image_url, name")) {
+            for (int i = 0; i < options.questions; i++) {
+                int category = CATEGORY_SKEW.next(random);
+                categories[i] = (byte) category;
+                perCategory[category]++;
+                correctAnswers[i] = (byte) random.nextInt(options.answers);
+                LocalDateTime createdAt = historyStart.minusSeconds(random.nextLong(365L * 24 * 3600));
+                questions.row(firstQuestionId + i, createdAt, createdAt, CATEGORIES[category],
+                        "Synthetic question " + i + " about " + CATEGORIES[category].toLowerCase(),
+                        DIFFICULTIES[DIFFICULTY_SKEW.next(random)], null, "question-" + i);
+            }
+        }
+        questionsByCategory = new int[CATEGORIES.length][];
+        for (int category = 0; category < CATEGORIES.length; category++) {
+            questionsByCategory[category] = new int[perCategory[category]];
+        }
+        int[] filled = new int[CATEGORIES.length];
+        for (int i = 0; i < options.questions; i++) {
+            questionsByCategory[categories[i]][filled[categories[i]]++] = i;
+        }
+    }
+
+    private void answers() throws Exception {
+        firstAnswerId = nextId;
+        nextId += (long) options.questions * options.answers;
+        try (CopyWriter answers = new CopyWriter(copyManager, "answers",
+                "id, created_at, updated_at, is_correct, name, question_id")) {
+            for (int i = 0; i < options.questions; i++) {
+                for (int a = 0; a < options.answers; a++) {
+                    answers.row(answerId(i, a), historyStart, historyStart, a == correctAnswers[i], "Answer " + a, firstQuestionId + i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Historical months need their own partitions, otherwise the rows land in the default ones.
+     */
+    private void partitions() throws SQLException {
+        if (queryLong("SELECT count(*) FROM pg_partitioned_table WHERE partrelid = 'quiz'::regclass") == 0) {
+            return;
+        }
+        YearMonth month = YearMonth.from(historyStart);
+        YearMonth end = YearMonth.from(options.historyEnd);
+        for (; month.isBefore(end); month = month.plusMonths(1)) {
+            for (String parent : new String[]{"quiz", "questions_quiz"}) {
+                execute(String.format("CREATE TABLE IF NOT EXISTS %s_p%s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                        parent, month.format(PARTITION_MONTH), parent, month.atDay(1), month.plusMonths(1).atDay(1)));
+            }
+        }
+    }
+
+    private void quizzes() throws Exception {
+        WeightedChoice userActivity = WeightedChoice.zipf(options.users, ZIPF_EXPONENT);
+        WeightedChoice samplePopularity = WeightedChoice.zipf(options.samples, ZIPF_EXPONENT);
+        try (CopyWriter quizzes = new CopyWriter(copyManager, "quiz",
+                "id, created_at, updated_at, quiz_status, score, quiz_sample_name, user_id")) {
+            for (int q = 0; q < options.quizzes; q++) {
+                QuizDraw quiz = draw(q, userActivity, samplePopularity);
+                quizzes.row(nextId + q, quiz.createdAt, quiz.updatedAt, quiz.finished ? "FINISHED" : "CREATED",
+                        quiz.finished ? quiz.score : null, firstSampleId + quiz.sample, firstUserId + quiz.user);
+            }
+        }
+    }
+
+    private void questionsQuiz() throws Exception {
+        WeightedChoice userActivity = WeightedChoice.zipf(options.users, ZIPF_EXPONENT);
+        WeightedChoice samplePopularity = WeightedChoice.zipf(options.samples, ZIPF_EXPONENT);
+        long firstQuizId = nextId;
+        long firstQuestionQuizId = nextId + options.quizzes;
+        try (CopyWriter questionsQuiz = new CopyWriter(copyManager, "questions_quiz",
+                "id, created_at, updated_at, ituser_choice, question_id, quiz_id")) {
+            for (int q = 0; q < options.quizzes; q++) {
+                QuizDraw quiz = draw(q, userActivity, samplePopularity);
+                for (int k = 0; k < quiz.questions.length; k++) {
+                    questionsQuiz.row(firstQuestionQuizId + (long) q * options.questionsPerQuiz + k,
+                            quiz.createdAt, quiz.updatedAt, quiz.choices[k], firstQuestionId + quiz.questions[k], firstQuizId + q);
+                }
+            }
+        }
+        nextId = firstQuestionQuizId + (long) options.quizzes * options.questionsPerQuiz;
+    }
+
+    /**
+     * Everything about quiz {@code q}, drawn from its own random stream so that quiz and questions_quiz,
+     * written in separate COPY passes, agree with each other.
+     */
+    private QuizDraw draw(int q, WeightedChoice userActivity, WeightedChoice samplePopularity) {
+        SplittableRandom random = new SplittableRandom((options.seed ^ QUIZZES_STREAM) * 31 + q);
+        QuizDraw quiz = new QuizDraw();
+        quiz.createdAt = historyStart.plusSeconds(random.nextLong(historySeconds));
+        quiz.user = userActivity.next(random);
+        quiz.sample = samplePopularity.next(random);
+        quiz.finished = random.nextDouble() < FINISHED_SHARE;
+        quiz.updatedAt = quiz.finished ? quiz.createdAt.plusSeconds(300 + random.nextInt(2100)) : quiz.createdAt;
+        int[] categories = sampleCategories[quiz.sample];
+        int size = Math.min(options.questionsPerQuiz, options.questions);
+        quiz.questions = new int[size];
+        quiz.choices = new Long[size];
+        for (int k = 0; k < size; k++) {
+            int question;
+            do {
+                int[] bank = questionsByCategory[categories[random.nextInt(categories.length)]];
+                question = bank.length > 0 ? bank[random.nextInt(bank.length)] : random.nextInt(options.questions);
+            } while (contains(quiz.questions, k, question));
+            quiz.questions[k] = question;
+            if (quiz.finished) {
+                boolean correct = random.nextDouble() < CORRECT_SHARE;
+                int answer = correct ? correctAnswers[question]
+                        : (correctAnswers[question] + 1 + random.nextInt(options.answers - 1)) % options.answers;
+                quiz.choices[k] = answerId(question, answer);
+                quiz.score += correct ? 1 : 0;
+            }
+        }
+        return quiz;
+    }
+
+    private long answerId(int question, int answer) {
+        return firstAnswerId + (long) question * options.answers + answer;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        return Arrays.stream(values, 0, length).anyMatch(v -> v == value);
+    }
+
+    private SecureRandom seededSecureRandom() throws NoSuchAlgorithmException {
+        SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+        random.setSeed(ByteBuffer.allocate(Long.BYTES).putLong(options.seed).array());
+        return random;
+    }
+
+    private void step(String name, Step step) throws Exception {
+        long started = System.nanoTime();
+        step.run();
+        System.out.printf("%-16s %8d мс%n", name, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private static final class QuizDraw {
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+        int user;
+        int sample;
+        boolean finished;
+        long score;
+        int[] questions;
+        Long[] choices;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.project.quiz.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Picks an index with the given relative weights using a cumulative table and binary search.
+ */
+final class WeightedChoice {
+    private final double[] cumulative;
+
+    WeightedChoice(double... weights) {
+        cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Zipf distribution over {@code size} ranks: a few items (popular samples, active users) take most picks.
+     */
+    static WeightedChoice zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        return new WeightedChoice(weights);
+    }
+
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+}
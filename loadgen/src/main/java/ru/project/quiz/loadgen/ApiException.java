@@ -0,0 +1,14 @@
+package ru.project.quiz.loadgen;
+
+class ApiException extends RuntimeException {
+    private final int status;
+
+    ApiException(Endpoint endpoint, int status) {
+        super(endpoint.title() + " вернул " + status);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.project.quiz.loadgen;
+
+enum Endpoint {
+    REGISTER("POST /api/auth/register"),
+    AUTHENTICATE("POST /api/auth/authenticate"),
+    CREATE_QUIZ("GET /api/quiz/create"),
+    FINISH_QUIZ("POST /api/quiz/finish"),
+    RANDOM_QUESTION("GET /api/question/random"),
+    ADD_QUESTION("POST /api/question/admin/add"),
+    ADD_SAMPLE("POST /api/quiz_sample/admin/add");
+
+    private final String title;
+
+    Endpoint(String title) {
+        this.title = title;
+    }
+
+    String title() {
+        return title;
+    }
+}
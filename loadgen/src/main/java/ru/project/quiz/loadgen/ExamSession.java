@@ -0,0 +1,67 @@
+package ru.project.quiz.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One student on exam day: register, authenticate, think, create a quiz, answer it and finish it.
+ */
+final class ExamSession {
+    private static final String PASSWORD = "loadgen-password";
+    static final double MAX_PAUSE_FACTOR = 5.0;
+
+    private final QuizApiClient client;
+    private final LoadOptions options;
+    private final SplittableRandom random;
+    private final String username;
+
+    ExamSession(QuizApiClient client, LoadOptions options, SplittableRandom random, String username) {
+        this.client = client;
+        this.options = options;
+        this.random = random;
+        this.username = username;
+    }
+
+    CompletableFuture<Void> run(long intendedStart) {
+        return client.register(username, PASSWORD, username + "@loadgen.local", intendedStart)
+                .thenCompose(registered -> client.authenticate(username, PASSWORD, System.nanoTime()))
+                .thenCompose(token -> after(pause(options.thinkTime))
+                        .thenCompose(at -> client.createQuiz(token, options.questions, options.quizName, at))
+                        .thenCompose(quiz -> after(pause(options.answerTime))
+                                .thenCompose(at -> client.finishQuiz(token, answer(quiz), at))))
+                .thenApply(finished -> null);
+    }
+
+    private JsonNode answer(JsonNode quiz) {
+        for (JsonNode questionQuiz : quiz.path("questions")) {
+            JsonNode answers = questionQuiz.path("question").path("answers");
+            if (answers.size() > 0) {
+                long choice = answers.get(random.nextInt(answers.size())).path("id").asLong();
+                ((ObjectNode) questionQuiz).put("userChoice", choice);
+            }
+        }
+        return quiz;
+    }
+
+    /**
+     * Exponentially distributed pause with the given mean, capped so that a single session can not hang the run.
+     */
+    private long pause(Duration mean) {
+        long meanNanos = mean.toNanos();
+        if (meanNanos == 0) {
+            return 0;
+        }
+        return (long) Math.min(-Math.log(1 - random.nextDouble()) * meanNanos, MAX_PAUSE_FACTOR * meanNanos);
+    }
+
+    private static CompletableFuture<Long> after(long delayNanos) {
+        long intendedStart = System.nanoTime() + delayNanos;
+        return CompletableFuture.supplyAsync(() -> intendedStart,
+                CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS));
+    }
+}
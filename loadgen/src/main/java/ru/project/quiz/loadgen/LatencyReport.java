@@ -0,0 +1,141 @@
+package ru.project.quiz.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint HDR latency histograms in microseconds. Latency is measured from the time the request
+ * was scheduled to start, so a stalled client or server is not hidden by coordinated omission.
+ */
+final class LatencyReport {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Histogram> totals = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private Map<Endpoint, Histogram> intervals = new EnumMap<>(Endpoint.class);
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(SIGNIFICANT_DIGITS));
+            totals.put(endpoint, new Histogram(SIGNIFICANT_DIGITS));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, boolean success) {
+        recorders.get(endpoint).recordValue(Math.max(1, latencyNanos / 1000));
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, used after seeding so that it does not skew the run.
+     */
+    synchronized void reset() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.get(endpoint).reset();
+            totals.get(endpoint).reset();
+            errors.get(endpoint).reset();
+        }
+    }
+
+    synchronized void printInterval(PrintStream out, long elapsedSeconds) {
+        out.printf(Locale.ROOT, "--- %ds%n", elapsedSeconds);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram interval = recorders.get(endpoint).getIntervalHistogram(intervals.get(endpoint));
+            intervals.put(endpoint, interval);
+            totals.get(endpoint).add(interval);
+            if (interval.getTotalCount() > 0) {
+                out.printf(Locale.ROOT, "%-32s %8d req  p50 %9.2f ms  p99 %9.2f ms  max %9.2f ms%n",
+                        endpoint.title(), interval.getTotalCount(),
+                        millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)),
+                        millis(interval.getMaxValue()));
+            }
+        }
+    }
+
+    synchronized void printSummary(PrintStream out, long elapsedSeconds) {
+        printInterval(out, elapsedSeconds);
+        out.println("=== Итог");
+        out.printf(Locale.ROOT, "%-32s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram total = totals.get(endpoint);
+            if (total.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-32s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.title(), total.getTotalCount(), errors.get(endpoint).sum(),
+                    millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(90)),
+                    millis(total.getValueAtPercentile(99)), millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()));
+        }
+    }
+
+    /**
+     * Writes one percentile distribution per endpoint ({@code <endpoint>.hgrm}, values in milliseconds)
+     * that can be plotted with the HdrHistogram plotter.
+     */
+    synchronized void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram total = totals.get(endpoint);
+            if (total.getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(endpoint.name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                total.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Prints the endpoints of two runs side by side, with the ratio of the second run to the first.
+     */
+    static void printComparison(PrintStream out, LatencyReport base, LatencyReport compared, Set<Endpoint> endpoints) {
+        out.println("=== Сравнение (прогон 2 / прогон 1)");
+        out.printf(Locale.ROOT, "%-32s %-5s %9s %9s %7s %9s %9s %7s %11s%n",
+                "endpoint", "", "p50 ms", "p99 ms", "", "p99.9 ms", "max ms", "", "errors");
+        for (Endpoint endpoint : endpoints) {
+            Histogram first = base.totals.get(endpoint);
+            Histogram second = compared.totals.get(endpoint);
+            if (first.getTotalCount() == 0 || second.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-32s %-5s %9.2f %9.2f %7s %9.2f %9.2f %7s %5d/%-5d%n",
+                    endpoint.title(), "1",
+                    millis(first.getValueAtPercentile(50)), millis(first.getValueAtPercentile(99)), "",
+                    millis(first.getValueAtPercentile(99.9)), millis(first.getMaxValue()), "",
+                    base.errors.get(endpoint).sum(), first.getTotalCount());
+            out.printf(Locale.ROOT, "%-32s %-5s %9.2f %9.2f %6.2fx %9.2f %9.2f %6.2fx %5d/%-5d%n",
+                    "", "2",
+                    millis(second.getValueAtPercentile(50)), millis(second.getValueAtPercentile(99)),
+                    ratio(second.getValueAtPercentile(99), first.getValueAtPercentile(99)),
+                    millis(second.getValueAtPercentile(99.9)), millis(second.getMaxValue()),
+                    ratio(second.getValueAtPercentile(99.9), first.getValueAtPercentile(99.9)),
+                    compared.errors.get(endpoint).sum(), second.getTotalCount());
+        }
+    }
+
+    private static double ratio(long value, long base) {
+        return base == 0 ? 0 : (double) value / base;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,150 @@
+package ru.project.quiz.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Replays exam traffic against a running application: open-model arrivals of exam sessions plus
+ * background {@code /api/question/random} requests, reported as per-endpoint HDR histograms.
+ * With {@code --compare-url} the same profile is replayed a second time with the quiz endpoints
+ * pointed at another deployment, and the two runs are compared.
+ */
+public class LoadGenerator {
+    private static final long REPORT_INTERVAL_SECONDS = 10;
+    private static final Duration DRAIN_GRACE = Duration.ofSeconds(60);
+    private static final Set<Endpoint> COMPARED_ENDPOINTS = EnumSet.of(Endpoint.CREATE_QUIZ, Endpoint.FINISH_QUIZ, Endpoint.RANDOM_QUESTION);
+
+    private final LoadOptions options;
+    private final URI quizUrl;
+    private final LatencyReport report = new LatencyReport();
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final AtomicLong sessions = new AtomicLong();
+
+    LoadGenerator(LoadOptions options, URI quizUrl) {
+        this.options = options;
+        this.quizUrl = quizUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.compareUrl == null) {
+            new LoadGenerator(options, options.quizUrl).run(options.reportDir);
+            return;
+        }
+        System.out.printf("=== Прогон 1: %s%n", options.quizUrl);
+        LatencyReport base = new LoadGenerator(options, options.quizUrl).run(options.reportDir.resolve("base"));
+        System.out.printf("=== Прогон 2: %s%n", options.compareUrl);
+        LatencyReport compared = new LoadGenerator(options, options.compareUrl).run(options.reportDir.resolve("compare"));
+        LatencyReport.printComparison(System.out, base, compared, COMPARED_ENDPOINTS);
+    }
+
+    LatencyReport run(Path reportDir) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(options.httpThreads);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ObjectMapper objectMapper = new ObjectMapper();
+            QuizApiClient client = new QuizApiClient(options.baseUrl, quizUrl, httpExecutor, objectMapper, report);
+            String runId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+            String backgroundToken = new Seeder(client, objectMapper, options).seed(runId);
+            report.reset();
+
+            SplittableRandom random = new SplittableRandom(options.seed);
+            LoadProfile exams = new LoadProfile(options.examRate, options.rampUp, options.steady, options.rampDown);
+            LoadProfile background = new LoadProfile(options.backgroundRate, options.rampUp, options.steady, options.rampDown);
+            long start = System.nanoTime();
+            reporter.scheduleAtFixedRate(() -> report.printInterval(System.out, elapsedSeconds(start)),
+                    REPORT_INTERVAL_SECONDS, REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+            SplittableRandom examRandom = random.split();
+            Thread examDriver = drive("exam-arrivals", exams, start, random.split(), intendedStart -> {
+                String username = "student-" + runId + "-" + sessions.incrementAndGet();
+                track(new ExamSession(client, options, examRandom.split(), username).run(intendedStart));
+            });
+            Thread backgroundDriver = drive("background-arrivals", background, start, random.split(),
+                    intendedStart -> track(client.randomQuestion(backgroundToken, intendedStart).thenApply(question -> null)));
+            examDriver.join();
+            backgroundDriver.join();
+            drain();
+
+            reporter.shutdownNow();
+            report.printSummary(System.out, elapsedSeconds(start));
+            System.out.printf("Экзаменов начато: %d, не завершено: %d%n", sessions.get(), inFlight.size());
+            failures.forEach((reason, count) -> System.out.printf("Ошибка x%d: %s%n", count.sum(), reason));
+            report.writeHistograms(reportDir);
+            System.out.printf("Гистограммы сохранены в %s%n", reportDir.toAbsolutePath());
+            return report;
+        } finally {
+            reporter.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private Thread drive(String name, LoadProfile profile, long start, SplittableRandom random, LongConsumer arrival) {
+        Thread thread = new Thread(() -> {
+            long elapsed = 0;
+            while ((elapsed = profile.nextArrival(elapsed, random)) >= 0) {
+                long intendedStart = start + elapsed;
+                long wait;
+                while ((wait = intendedStart - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                arrival.accept(intendedStart);
+            }
+        }, name);
+        thread.start();
+        return thread;
+    }
+
+    private void track(CompletableFuture<Void> future) {
+        inFlight.add(future);
+        future.whenComplete((result, error) -> {
+            inFlight.remove(future);
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                failures.computeIfAbsent(String.valueOf(cause.getMessage()), reason -> new LongAdder()).increment();
+            }
+        });
+    }
+
+    /**
+     * Waits for sessions that are still answering their quiz after the last arrival.
+     */
+    private void drain() throws InterruptedException {
+        long maxPause = (long) (ExamSession.MAX_PAUSE_FACTOR * (options.thinkTime.toNanos() + options.answerTime.toNanos()));
+        long deadline = System.nanoTime() + maxPause + DRAIN_GRACE.toNanos();
+        while (!inFlight.isEmpty() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static long elapsedSeconds(long start) {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+    }
+}
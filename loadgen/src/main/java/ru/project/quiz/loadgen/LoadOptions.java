@@ -0,0 +1,98 @@
+package ru.project.quiz.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options in {@code --key=value} form, see {@link #USAGE}.
+ */
+final class LoadOptions {
+    static final String USAGE = String.join("\n",
+            "java -jar loadgen.jar [--ключ=значение ...]",
+            "  --base-url=http://localhost:8080   адрес приложения",
+            "  --quiz-url=                        адрес для /api/quiz/* и /api/question/random (по умолчанию base-url)",
+            "  --compare-url=                     второй прогон с тем же профилем против этого адреса и сравнение",
+            "  --exam-rate=5                      пиковая частота новых экзаменов, сессий/с",
+            "  --background-rate=20               фоновые запросы /api/question/random, запросов/с",
+            "  --ramp-up=30 --steady=120 --ramp-down=10   профиль нагрузки, секунды",
+            "  --think-time=2                     средняя пауза перед созданием теста, секунды",
+            "  --answer-time=30                   среднее время решения теста, секунды",
+            "  --questions=20                     вопросов в тесте",
+            "  --quiz-name=loadtest               сэмпл теста",
+            "  --seed-questions=200               сколько вопросов добавить перед запуском (0 - не добавлять)",
+            "  --admin-username=admin --admin-password=admin",
+            "  --http-threads=16                  потоки HTTP клиента",
+            "  --seed=1                           seed генератора случайных чисел",
+            "  --report-dir=target/loadgen        куда сохранить гистограммы (.hgrm)");
+
+    final URI baseUrl;
+    final URI quizUrl;
+    final URI compareUrl;
+    final double examRate;
+    final double backgroundRate;
+    final Duration rampUp;
+    final Duration steady;
+    final Duration rampDown;
+    final Duration thinkTime;
+    final Duration answerTime;
+    final int questions;
+    final String quizName;
+    final int seedQuestions;
+    final String adminUsername;
+    final String adminPassword;
+    final int httpThreads;
+    final long seed;
+    final Path reportDir;
+
+    private LoadOptions(Map<String, String> values) {
+        baseUrl = URI.create(take(values, "base-url", "http://localhost:8080"));
+        quizUrl = URI.create(take(values, "quiz-url", baseUrl.toString()));
+        String compare = take(values, "compare-url", null);
+        compareUrl = compare == null ? null : URI.create(compare);
+        examRate = Double.parseDouble(take(values, "exam-rate", "5"));
+        backgroundRate = Double.parseDouble(take(values, "background-rate", "20"));
+        rampUp = seconds(take(values, "ramp-up", "30"));
+        steady = seconds(take(values, "steady", "120"));
+        rampDown = seconds(take(values, "ramp-down", "10"));
+        thinkTime = seconds(take(values, "think-time", "2"));
+        answerTime = seconds(take(values, "answer-time", "30"));
+        questions = Integer.parseInt(take(values, "questions", "20"));
+        quizName = take(values, "quiz-name", "loadtest");
+        seedQuestions = Integer.parseInt(take(values, "seed-questions", "200"));
+        adminUsername = take(values, "admin-username", "admin");
+        adminPassword = take(values, "admin-password", "admin");
+        httpThreads = Integer.parseInt(take(values, "http-threads", "16"));
+        seed = Long.parseLong(take(values, "seed", "1"));
+        reportDir = Path.of(take(values, "report-dir", "target/loadgen"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Неизвестные параметры: " + values.keySet());
+        }
+        if (examRate < 0 || backgroundRate < 0 || questions < 1 || httpThreads < 1) {
+            throw new IllegalArgumentException("Частоты должны быть неотрицательными, вопросов и потоков - хотя бы 1");
+        }
+    }
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ожидается --ключ=значение, получено: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadOptions(values);
+    }
+
+    private static String take(Map<String, String> values, String key, String defaultValue) {
+        String value = values.remove(key);
+        return value == null ? defaultValue : value;
+    }
+
+    private static Duration seconds(String value) {
+        return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+    }
+}
@@ -0,0 +1,62 @@
+package ru.project.quiz.loadgen;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Open-model arrival schedule: a Poisson process whose rate ramps linearly up to the peak,
+ * holds it and ramps down again. Arrivals do not wait for earlier requests to complete.
+ */
+final class LoadProfile {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final double peakRate;
+    private final long rampUpNanos;
+    private final long steadyNanos;
+    private final long rampDownNanos;
+
+    LoadProfile(double peakRate, Duration rampUp, Duration steady, Duration rampDown) {
+        this.peakRate = peakRate;
+        this.rampUpNanos = rampUp.toNanos();
+        this.steadyNanos = steady.toNanos();
+        this.rampDownNanos = rampDown.toNanos();
+    }
+
+    long durationNanos() {
+        return rampUpNanos + steadyNanos + rampDownNanos;
+    }
+
+    double rateAt(long elapsedNanos) {
+        if (elapsedNanos < 0 || elapsedNanos >= durationNanos()) {
+            return 0;
+        }
+        if (elapsedNanos < rampUpNanos) {
+            return peakRate * elapsedNanos / rampUpNanos;
+        }
+        long sinceSteadyEnd = elapsedNanos - rampUpNanos - steadyNanos;
+        if (sinceSteadyEnd > 0) {
+            return peakRate * (rampDownNanos - sinceSteadyEnd) / rampDownNanos;
+        }
+        return peakRate;
+    }
+
+    /**
+     * Time of the next arrival after {@code elapsedNanos}, by thinning a Poisson process
+     * with the peak rate, or -1 when the profile is over.
+     */
+    long nextArrival(long elapsedNanos, SplittableRandom random) {
+        if (peakRate <= 0) {
+            return -1;
+        }
+        long time = elapsedNanos;
+        while (true) {
+            time += (long) (-Math.log(1 - random.nextDouble()) / peakRate * NANOS_PER_SECOND);
+            if (time >= durationNanos()) {
+                return -1;
+            }
+            if (random.nextDouble() * peakRate <= rateAt(time)) {
+                return time;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ru.project.quiz.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous client for the endpoints used in an exam, every call is recorded in the {@link LatencyReport}.
+ * Quiz endpoints may be served by another deployment (e.g. the reactive variant) than registration and admin ones.
+ */
+final class QuizApiClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final URI quizUrl;
+    private final ObjectMapper objectMapper;
+    private final LatencyReport report;
+
+    QuizApiClient(URI baseUrl, URI quizUrl, Executor executor, ObjectMapper objectMapper, LatencyReport report) {
+        this.http = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.quizUrl = quizUrl;
+        this.objectMapper = objectMapper;
+        this.report = report;
+    }
+
+    CompletableFuture<JsonNode> register(String username, String password, String email, long intendedStart) {
+        JsonNode body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", password)
+                .put("email", email);
+        return send(Endpoint.REGISTER, post(baseUrl, "/api/auth/register", null, body), intendedStart);
+    }
+
+    CompletableFuture<String> authenticate(String username, String password, long intendedStart) {
+        JsonNode body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", password);
+        return send(Endpoint.AUTHENTICATE, post(baseUrl, "/api/auth/authenticate", null, body), intendedStart)
+                .thenApply(response -> response.path("token").asText());
+    }
+
+    CompletableFuture<JsonNode> createQuiz(String token, int questions, String quizName, long intendedStart) {
+        String query = "?numberOfQuestions=" + questions + "&quizName=" + URLEncoder.encode(quizName, StandardCharsets.UTF_8);
+        return send(Endpoint.CREATE_QUIZ, get(quizUrl, "/api/quiz/create" + query, token), intendedStart);
+    }
+
+    CompletableFuture<JsonNode> finishQuiz(String token, JsonNode quiz, long intendedStart) {
+        return send(Endpoint.FINISH_QUIZ, post(quizUrl, "/api/quiz/finish", token, quiz), intendedStart);
+    }
+
+    CompletableFuture<JsonNode> randomQuestion(String token, long intendedStart) {
+        return send(Endpoint.RANDOM_QUESTION, get(quizUrl, "/api/question/random", token), intendedStart);
+    }
+
+    CompletableFuture<JsonNode> addQuestion(String token, JsonNode question, long intendedStart) {
+        return send(Endpoint.ADD_QUESTION, post(baseUrl, "/api/question/admin/add", token, question), intendedStart);
+    }
+
+    CompletableFuture<JsonNode> addSample(String token, JsonNode sample, long intendedStart) {
+        return send(Endpoint.ADD_SAMPLE, post(baseUrl, "/api/quiz_sample/admin/add", token, sample), intendedStart);
+    }
+
+    private CompletableFuture<JsonNode> send(Endpoint endpoint, HttpRequest request, long intendedStart) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).handle((response, error) -> {
+            boolean success = error == null && response.statusCode() / 100 == 2;
+            report.record(endpoint, System.nanoTime() - intendedStart, success);
+            if (error != null) {
+                throw new CompletionException(error);
+            }
+            if (!success) {
+                throw new ApiException(endpoint, response.statusCode());
+            }
+            return read(response.body());
+        });
+    }
+
+    private HttpRequest get(URI url, String path, String token) {
+        return request(url, path, token).GET().build();
+    }
+
+    private HttpRequest post(URI url, String path, String token, JsonNode body) {
+        try {
+            return request(url, path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(URI url, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(url.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode read(byte[] body) {
+        if (body.length == 0) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.project.quiz.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Prepares the application through its admin API: a question bank, the quiz sample and a user
+ * for the background traffic. Needs the admin created by the dev/embedded profiles.
+ */
+final class Seeder {
+    private static final List<String> CATEGORIES = List.of("CORE", "IO", "COLLECTIONS");
+    private static final List<String> DIFFICULTIES = List.of("EASY", "NORMAL", "HARD");
+    private static final int ANSWERS_PER_QUESTION = 4;
+    private static final int BAD_REQUEST = 400;
+
+    private final QuizApiClient client;
+    private final ObjectMapper objectMapper;
+    private final LoadOptions options;
+
+    Seeder(QuizApiClient client, ObjectMapper objectMapper, LoadOptions options) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.options = options;
+    }
+
+    /**
+     * @return token of the user that sends the background requests
+     */
+    String seed(String runId) {
+        String adminToken = client.authenticate(options.adminUsername, options.adminPassword, System.nanoTime()).join();
+        for (int i = 0; i < options.seedQuestions; i++) {
+            client.addQuestion(adminToken, question(runId, i), System.nanoTime()).join();
+        }
+        System.out.printf("Добавлено вопросов: %d%n", options.seedQuestions);
+
+        ObjectNode sample = objectMapper.createObjectNode().put("name", options.quizName);
+        ArrayNode categories = sample.putArray("categories");
+        CATEGORIES.forEach(category -> categories.addObject().put("category", category));
+        try {
+            client.addSample(adminToken, sample, System.nanoTime()).join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof ApiException) || ((ApiException) e.getCause()).getStatus() != BAD_REQUEST) {
+                throw e;
+            }
+            System.out.printf("Сэмпл %s уже существует%n", options.quizName);
+        }
+
+        String username = "background-" + runId;
+        String password = "loadgen-password";
+        client.register(username, password, username + "@loadgen.local", System.nanoTime()).join();
+        return client.authenticate(username, password, System.nanoTime()).join();
+    }
+
+    private ObjectNode question(String runId, int index) {
+        ObjectNode question = objectMapper.createObjectNode()
+                .put("name", "loadgen-" + runId + "-" + index)
+                .put("description", "Сгенерированный вопрос для нагрузочного теста")
+                .put("difficultyType", DIFFICULTIES.get(index % DIFFICULTIES.size()))
+                .put("categoryType", CATEGORIES.get(index % CATEGORIES.size()));
+        ArrayNode answers = question.putArray("answers");
+        for (int a = 0; a < ANSWERS_PER_QUESTION; a++) {
+            answers.addObject()
+                    .put("name", "Ответ " + a)
+                    .put("correctAnswer", a == 0);
+        }
+        return question;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.project.quiz.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveQuizApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveQuizApplication.class, args);
+    }
+
+}
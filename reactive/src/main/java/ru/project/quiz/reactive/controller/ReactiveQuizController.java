@@ -0,0 +1,43 @@
+package ru.project.quiz.reactive.controller;
+
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.project.quiz.domain.dto.quiz.QuestionDTO;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.reactive.security.JwtAuthenticationFilter;
+import ru.project.quiz.reactive.security.QuizPrincipal;
+import ru.project.quiz.reactive.service.ReactiveQuizService;
+
+/**
+ * The quiz endpoints of QuizController and QuestionController, on the same paths, so load tests can
+ * switch between the two variants by base url.
+ */
+@RestController
+@RequestMapping("/api")
+public class ReactiveQuizController {
+    private final ReactiveQuizService quizService;
+    private final static String CREATE_QUIZ = "/quiz/create";
+    private final static String FINISH_QUIZ = "/quiz/finish";
+    private final static String RANDOM_QUESTION = "/question/random";
+
+    @GetMapping(CREATE_QUIZ)
+    public Mono<QuizDTO> getQuiz(@RequestAttribute(JwtAuthenticationFilter.PRINCIPAL) QuizPrincipal principal,
+                                 @RequestParam int numberOfQuestions, @RequestParam String quizName) {
+        return quizService.createQuiz(principal, numberOfQuestions, quizName);
+    }
+
+    @PostMapping(FINISH_QUIZ)
+    public Mono<QuizDTO> finishQuiz(@RequestAttribute(JwtAuthenticationFilter.PRINCIPAL) QuizPrincipal principal,
+                                    @RequestBody QuizDTO quizDTO) {
+        return quizService.finishQuiz(principal, quizDTO);
+    }
+
+    @GetMapping(RANDOM_QUESTION)
+    public Mono<QuestionDTO> getQuestion() {
+        return quizService.getRandomQuestion();
+    }
+
+    public ReactiveQuizController(ReactiveQuizService quizService) {
+        this.quizService = quizService;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.project.quiz.reactive.handler;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.project.quiz.handler.exception.QuizAlreadyFinishedException;
+import ru.project.quiz.handler.response.Response;
+
+/**
+ * Answers like GlobalExceptionHandler of the main app: every domain error is a 400 with its message,
+ * a lost finish is a 409.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Response> handleException(RuntimeException e) {
+        return new ResponseEntity<>(new Response(e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(QuizAlreadyFinishedException.class)
+    public ResponseEntity<Response> handleConflictException(RuntimeException e) {
+        return new ResponseEntity<>(new Response(e.getMessage()), HttpStatus.CONFLICT);
+    }
+}
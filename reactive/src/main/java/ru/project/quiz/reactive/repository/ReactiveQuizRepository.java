@@ -0,0 +1,186 @@
+package ru.project.quiz.reactive.repository;
+
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+import ru.project.quiz.domain.dto.quiz.AnswerDTO;
+import ru.project.quiz.domain.dto.quiz.QuestionDTO;
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
+import ru.project.quiz.domain.enums.question.CategoryType;
+import ru.project.quiz.domain.enums.question.DifficultyType;
+import ru.project.quiz.domain.enums.question.QuizStatus;
+import ru.project.quiz.reactive.security.QuizPrincipal;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The same tables and queries as the JPA repositories of the main app, written as plain SQL for R2DBC.
+ */
+@Repository
+public class ReactiveQuizRepository {
+    private static final String QUESTION_COLUMNS = "id, name, description, image_url, difficulty_type, category_type";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveQuizRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<QuizPrincipal> findPrincipal(String username) {
+        return databaseClient.sql("SELECT u.id, p.permission FROM users u " +
+                        "LEFT JOIN users_roles ur ON ur.itusers_id = u.id " +
+                        "LEFT JOIN permissions p ON p.role_name = ur.roles_name " +
+                        "WHERE u.username = :username")
+                .bind("username", username)
+                .map(row -> Tuples.of(row.get("id", Long.class), Optional.ofNullable(row.get("permission", String.class))))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(rows -> {
+                    Set<String> permissions = new HashSet<>();
+                    rows.forEach(row -> row.getT2().ifPresent(permissions::add));
+                    return new QuizPrincipal(rows.get(0).getT1(), username, permissions);
+                });
+    }
+
+    public Mono<QuizSampleCategoriesDTO> findSample(String name) {
+        return databaseClient.sql("SELECT s.id, c.name AS category FROM quiz_sample s " +
+                        "LEFT JOIN categories c ON c.quiz_sample_id = s.id WHERE s.name = :name")
+                .bind("name", name)
+                .map(row -> Tuples.of(row.get("id", Long.class), Optional.ofNullable(row.get("category", String.class))))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(rows -> {
+                    List<String> categories = new ArrayList<>();
+                    rows.forEach(row -> row.getT2().ifPresent(categories::add));
+                    return new QuizSampleCategoriesDTO(rows.get(0).getT1(), name, categories);
+                });
+    }
+
+    public Flux<QuestionDTO> findRandomQuestions(List<String> categories, int limit) {
+        return databaseClient.sql("SELECT " + QUESTION_COLUMNS + " FROM questions " +
+                        "WHERE category_type IN (:categories) ORDER BY RANDOM() LIMIT :limit")
+                .bind("categories", categories)
+                .bind("limit", limit)
+                .map(ReactiveQuizRepository::question)
+                .all();
+    }
+
+    public Flux<Long> findQuestionIds() {
+        return databaseClient.sql("SELECT id FROM questions")
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    public Mono<QuestionDTO> findQuestion(long id) {
+        return databaseClient.sql("SELECT " + QUESTION_COLUMNS + " FROM questions WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveQuizRepository::question)
+                .one();
+    }
+
+    /**
+     * Answers of all given questions in one query, by question id.
+     */
+    public Mono<Map<Long, Collection<AnswerDTO>>> findAnswers(Collection<Long> questionIds) {
+        return databaseClient.sql("SELECT id, name, is_correct, question_id FROM answers WHERE question_id IN (:ids)")
+                .bind("ids", questionIds)
+                .map(row -> {
+                    AnswerDTO answer = new AnswerDTO(row.get("name", String.class), Boolean.TRUE.equals(row.get("is_correct", Boolean.class)));
+                    answer.setId(row.get("id", Long.class));
+                    return Tuples.of(row.get("question_id", Long.class), answer);
+                })
+                .all()
+                .collectMultimap(Tuple2::getT1, Tuple2::getT2);
+    }
+
+    /**
+     * Ids come from the sequence Hibernate uses in the main app, so both variants can share the database.
+     */
+    public Mono<List<Long>> nextIds(int count) {
+        return databaseClient.sql("SELECT nextval('hibernate_sequence') AS id FROM generate_series(1, :count)")
+                .bind("count", count)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList();
+    }
+
+    public Mono<Integer> insertQuiz(long id, LocalDateTime createdAt, long sampleId, long userId) {
+        return databaseClient.sql("INSERT INTO quiz (id, created_at, updated_at, quiz_status, quiz_sample_name, user_id) " +
+                        "VALUES (:id, :createdAt, :createdAt, :status, :sampleId, :userId)")
+                .bind("id", id)
+                .bind("createdAt", createdAt)
+                .bind("status", QuizStatus.CREATED.name())
+                .bind("sampleId", sampleId)
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> insertQuestions(long quizId, LocalDateTime createdAt, Long[] ids, Long[] questionIds) {
+        return databaseClient.sql("INSERT INTO questions_quiz (id, created_at, updated_at, question_id, quiz_id) " +
+                        "SELECT q.id, :createdAt, :createdAt, q.question_id, :quizId FROM unnest(:ids, :questionIds) AS q(id, question_id)")
+                .bind("createdAt", createdAt)
+                .bind("quizId", quizId)
+                .bind("ids", ids)
+                .bind("questionIds", questionIds)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Conditional CREATED to FINISHED transition, see QuizRepositoryCustomImpl of the main app.
+     *
+     * @return new version, empty if the quiz is not CREATED or its version has changed
+     */
+    public Mono<Long> finishQuiz(long quizId, long userId, long score, Long expectedVersion, LocalDateTime updatedAt) {
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql("UPDATE quiz SET quiz_status = :status, score = :score, " +
+                        "user_id = :userId, version = version + 1, updated_at = :updatedAt " +
+                        "WHERE id = :id AND quiz_status = :created AND version = coalesce(:version, version) RETURNING version")
+                .bind("status", QuizStatus.FINISHED.name())
+                .bind("score", score)
+                .bind("userId", userId)
+                .bind("updatedAt", updatedAt)
+                .bind("id", quizId)
+                .bind("created", QuizStatus.CREATED.name());
+        update = expectedVersion == null ? update.bindNull("version", Long.class) : update.bind("version", expectedVersion);
+        return update.map(row -> row.get("version", Long.class)).one();
+    }
+
+    public Mono<Integer> saveChoices(long quizId, Long[] ids, Long[] choices, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE questions_quiz qq SET ituser_choice = c.choice, updated_at = :updatedAt " +
+                        "FROM unnest(:ids, :choices) AS c(id, choice) WHERE qq.id = c.id AND qq.quiz_id = :quizId")
+                .bind("updatedAt", updatedAt)
+                .bind("quizId", quizId)
+                .bind("ids", ids)
+                .bind("choices", choices)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static QuestionDTO question(Row row) {
+        String difficulty = row.get("difficulty_type", String.class);
+        String category = row.get("category_type", String.class);
+        QuestionDTO question = new QuestionDTO(
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("image_url", String.class),
+                difficulty == null ? null : DifficultyType.valueOf(difficulty),
+                category == null ? null : CategoryType.valueOf(category),
+                new ArrayList<>());
+        question.setId(row.get("id", Long.class));
+        return question;
+    }
+}
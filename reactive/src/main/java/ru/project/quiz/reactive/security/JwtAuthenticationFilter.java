@@ -0,0 +1,71 @@
+package ru.project.quiz.reactive.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import ru.project.quiz.domain.enums.ituser.PermissionType;
+import ru.project.quiz.reactive.repository.ReactiveQuizRepository;
+
+import java.util.Optional;
+
+/**
+ * Accepts the tokens issued by the main app (same secret) and, like its security config,
+ * requires {@link PermissionType#GENERATE_TESTS} for the quiz endpoints.
+ */
+@Component
+public class JwtAuthenticationFilter implements WebFilter {
+    public static final String PRINCIPAL = "ru.project.quiz.reactive.principal";
+    private static final String BEARER = "Bearer ";
+    private static final String API = "/api/";
+
+    private final ReactiveQuizRepository quizRepository;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    public JwtAuthenticationFilter(ReactiveQuizRepository quizRepository) {
+        this.quizRepository = quizRepository;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(API)) {
+            return chain.filter(exchange);
+        }
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            return reject(exchange, HttpStatus.UNAUTHORIZED);
+        }
+        String username;
+        try {
+            username = Jwts.parser().setSigningKey(secret).parseClaimsJws(header.substring(BEARER.length())).getBody().getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return reject(exchange, HttpStatus.UNAUTHORIZED);
+        }
+        return quizRepository.findPrincipal(username)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(principal -> {
+                    if (principal.isEmpty()) {
+                        return reject(exchange, HttpStatus.UNAUTHORIZED);
+                    }
+                    if (!principal.get().getPermissions().contains(PermissionType.GENERATE_TESTS.name())) {
+                        return reject(exchange, HttpStatus.FORBIDDEN);
+                    }
+                    exchange.getAttributes().put(PRINCIPAL, principal.get());
+                    return chain.filter(exchange);
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,30 @@
+package ru.project.quiz.reactive.security;
+
+import java.util.Set;
+
+/**
+ * Authenticated user of the current exchange, see {@link JwtAuthenticationFilter}.
+ */
+public class QuizPrincipal {
+    private final long id;
+    private final String username;
+    private final Set<String> permissions;
+
+    public QuizPrincipal(long id, String username, Set<String> permissions) {
+        this.id = id;
+        this.username = username;
+        this.permissions = permissions;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Set<String> getPermissions() {
+        return permissions;
+    }
+}
@@ -0,0 +1,166 @@
+package ru.project.quiz.reactive.service.Impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import ru.project.quiz.domain.dto.quiz.AnswerDTO;
+import ru.project.quiz.domain.dto.quiz.QuestionDTO;
+import ru.project.quiz.domain.dto.quiz.QuestionQuizDTO;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
+import ru.project.quiz.domain.enums.question.QuizStatus;
+import ru.project.quiz.handler.exception.BadNumberOfQuestionsException;
+import ru.project.quiz.handler.exception.QuestionNotFoundException;
+import ru.project.quiz.handler.exception.QuizAlreadyFinishedException;
+import ru.project.quiz.handler.exception.QuizNotFoundException;
+import ru.project.quiz.handler.exception.SampleNotFoundException;
+import ru.project.quiz.reactive.repository.ReactiveQuizRepository;
+import ru.project.quiz.reactive.security.QuizPrincipal;
+import ru.project.quiz.reactive.service.ReactiveQuizService;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Same rules and messages as QuizServiceImpl of the main app. Only the inserts and updates run in a
+ * transaction; nothing blocks, so the event loop threads are never parked on the database.
+ */
+@Service
+public class ReactiveQuizServiceImpl implements ReactiveQuizService {
+    private final ReactiveQuizRepository quizRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Validator validator;
+
+    Logger log = LoggerFactory.getLogger(ReactiveQuizServiceImpl.class);
+
+    public ReactiveQuizServiceImpl(ReactiveQuizRepository quizRepository, TransactionalOperator transactionalOperator, Validator validator) {
+        this.quizRepository = quizRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.validator = validator;
+    }
+
+    private final static String allQuestionsSuccessfullyAdded = "Все вопросы удачно добавлены";
+    private final static String notEnoughQuestions = "В нашей базе данных нет столько вопросов, было добавлено ";
+    private final static String getRandomQuestionsError = "Ошибка в попытке получить список рандомных вопросов";
+    private final static String badNumberOfQuestions = "Количество вопросов должно быть больше 0";
+    private final static String sampleNotFound = "Семпл не найден";
+    private final static String quizWithoutOwner = "У данного вопроса нет владельца";
+    private final static String quizAlreadyFinished = "Тест уже завершен";
+    private final static String emptyQuestionList = "Question list is empty";
+
+    @Override
+    public Mono<QuizDTO> createQuiz(QuizPrincipal principal, int numberOfQuestions, String quizName) {
+        if (numberOfQuestions < 1) {
+            return Mono.error(new BadNumberOfQuestionsException(badNumberOfQuestions));
+        }
+        return quizRepository.findSample(quizName)
+                .switchIfEmpty(Mono.error(() -> new SampleNotFoundException(sampleNotFound)))
+                .flatMap(sample -> {
+                    if (sample.getCategories().isEmpty()) {
+                        return Mono.error(new QuestionNotFoundException(getRandomQuestionsError));
+                    }
+                    return quizRepository.findRandomQuestions(sample.getCategories(), numberOfQuestions)
+                            .collectList()
+                            .flatMap(questions -> questions.isEmpty() ?
+                                    Mono.error(new QuestionNotFoundException(getRandomQuestionsError)) :
+                                    withAnswers(questions))
+                            .flatMap(questions -> saveQuiz(principal, sample, questions, numberOfQuestions));
+                });
+    }
+
+    private Mono<QuizDTO> saveQuiz(QuizPrincipal principal, QuizSampleCategoriesDTO sample, List<QuestionDTO> questions, int numberOfQuestions) {
+        LocalDateTime now = LocalDateTime.now();
+        return quizRepository.nextIds(questions.size() + 1).flatMap(ids -> {
+            long quizId = ids.get(0);
+            Long[] questionQuizIds = ids.subList(1, ids.size()).toArray(new Long[0]);
+            Long[] questionIds = questions.stream().map(QuestionDTO::getId).toArray(Long[]::new);
+            Mono<Integer> insert = quizRepository.insertQuiz(quizId, now, sample.getId(), principal.getId())
+                    .then(quizRepository.insertQuestions(quizId, now, questionQuizIds, questionIds));
+            return transactionalOperator.transactional(insert).then(Mono.fromCallable(() -> {
+                List<QuestionQuizDTO> questionQuizList = new ArrayList<>(questions.size());
+                for (int i = 0; i < questions.size(); i++) {
+                    QuestionQuizDTO questionQuiz = new QuestionQuizDTO(questions.get(i), null);
+                    questionQuiz.setId(questionQuizIds[i]);
+                    questionQuizList.add(questionQuiz);
+                }
+                String description = questions.size() == numberOfQuestions ?
+                        allQuestionsSuccessfullyAdded :
+                        notEnoughQuestions + questions.size();
+                QuizDTO quizDTO = new QuizDTO(description, sample.getName(), questionQuizList, QuizStatus.CREATED, null);
+                quizDTO.setId(quizId);
+                log.info("{} успешно сгенрировал тест c id : {}", principal.getUsername(), quizId);
+                return quizDTO;
+            }));
+        });
+    }
+
+    @Override
+    public Mono<QuizDTO> finishQuiz(QuizPrincipal principal, QuizDTO quizDTO) {
+        Set<ConstraintViolation<QuizDTO>> violations = validator.validate(quizDTO);
+        if (!violations.isEmpty()) {
+            log.error(violations.toString());
+            return Mono.error(new ConstraintViolationException(violations));
+        }
+        if (quizDTO.getId() == null) {
+            return Mono.error(new QuizNotFoundException(quizWithoutOwner));
+        }
+        return Mono.fromCallable(() -> score(quizDTO)).flatMap(score -> {
+            quizDTO.setQuizStatus(QuizStatus.FINISHED);
+            quizDTO.setScore(score);
+            LocalDateTime now = LocalDateTime.now();
+            Long[] ids = quizDTO.getQuestions().stream().map(QuestionQuizDTO::getId).toArray(Long[]::new);
+            Long[] choices = quizDTO.getQuestions().stream().map(QuestionQuizDTO::getUserChoice).toArray(Long[]::new);
+            Mono<Long> update = quizRepository.finishQuiz(quizDTO.getId(), principal.getId(), score, quizDTO.getVersion(), now)
+                    .switchIfEmpty(Mono.error(new QuizAlreadyFinishedException(quizAlreadyFinished)))
+                    .flatMap(version -> quizRepository.saveChoices(quizDTO.getId(), ids, choices, now).thenReturn(version));
+            return transactionalOperator.transactional(update).map(version -> {
+                quizDTO.setVersion(version);
+                return quizDTO;
+            });
+        });
+    }
+
+    private long score(QuizDTO quizDTO) {
+        return quizDTO.getQuestions().stream().filter(questionQuizDTO -> {
+            Optional<AnswerDTO> answerDTO = questionQuizDTO.getQuestion().getAnswers().stream()
+                    .filter(AnswerDTO::isCorrectAnswer).findFirst();
+            if (answerDTO.isEmpty()) {
+                throw new QuestionNotFoundException("В вопросе " + questionQuizDTO + " нет правильного ответа.");
+            }
+            return Long.valueOf(answerDTO.get().getId()).equals(questionQuizDTO.getUserChoice());
+        }).count();
+    }
+
+    @Override
+    public Mono<QuestionDTO> getRandomQuestion() {
+        return quizRepository.findQuestionIds()
+                .collectList()
+                .flatMap(ids -> ids.isEmpty() ?
+                        Mono.error(new QuestionNotFoundException(emptyQuestionList)) :
+                        quizRepository.findQuestion(ids.get(ThreadLocalRandom.current().nextInt(ids.size()))))
+                .flatMap(question -> withAnswers(List.of(question)))
+                .map(questions -> questions.get(0));
+    }
+
+    private Mono<List<QuestionDTO>> withAnswers(List<QuestionDTO> questions) {
+        List<Long> ids = questions.stream().map(QuestionDTO::getId).collect(Collectors.toList());
+        return quizRepository.findAnswers(ids).map(answers -> {
+            for (QuestionDTO question : questions) {
+                Collection<AnswerDTO> questionAnswers = answers.get(question.getId());
+                question.setAnswers(questionAnswers == null ? new ArrayList<>() : new ArrayList<>(questionAnswers));
+            }
+            return questions;
+        });
+    }
+}
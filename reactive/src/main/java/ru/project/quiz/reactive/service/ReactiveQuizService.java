@@ -0,0 +1,14 @@
+package ru.project.quiz.reactive.service;
+
+import reactor.core.publisher.Mono;
+import ru.project.quiz.domain.dto.quiz.QuestionDTO;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.reactive.security.QuizPrincipal;
+
+public interface ReactiveQuizService {
+    Mono<QuizDTO> createQuiz(QuizPrincipal principal, int numberOfQuestions, String quizName);
+
+    Mono<QuizDTO> finishQuiz(QuizPrincipal principal, QuizDTO quizDTO);
+
+    Mono<QuestionDTO> getRandomQuestion();
+}
@@ -0,0 +1,74 @@
+package ru.project.quiz.async;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.project.quiz.datasource.DataSourceContextHolder;
+import ru.project.quiz.datasource.DataSourceType;
+import ru.project.quiz.sql.SqlStatistics;
+import ru.project.quiz.sql.SqlStatisticsHolder;
+import ru.project.quiz.timing.RequestTimings;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+/**
+ * Carries the request's thread-bound state over to the executor thread: security context, MDC,
+ * SQL statistics, phase timings and the data source choice. Like open-in-view on the servlet thread,
+ * an EntityManager is bound for the whole task, so lazy associations can still be mapped after
+ * the repositories return.
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public RequestContextTaskDecorator(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        SqlStatistics statistics = SqlStatisticsHolder.get();
+        RequestTimings timings = RequestTimings.current();
+        DataSourceType dataSourceType = DataSourceContextHolder.get();
+        boolean stuckToPrimary = DataSourceContextHolder.isStuckToPrimary();
+        Runnable task = () -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            SqlStatisticsHolder.set(statistics);
+            RequestTimings.bind(timings);
+            DataSourceContextHolder.set(dataSourceType);
+            if (stuckToPrimary) {
+                DataSourceContextHolder.stickToPrimary();
+            }
+            EntityManager entityManager = bindEntityManager();
+            try {
+                runnable.run();
+            } finally {
+                if (entityManager != null) {
+                    TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                    EntityManagerFactoryUtils.closeEntityManager(entityManager);
+                }
+                DataSourceContextHolder.clear();
+                RequestTimings.unbind();
+                SqlStatisticsHolder.clear();
+                MDC.clear();
+            }
+        };
+        return DelegatingSecurityContextRunnable.create(task, null);
+    }
+
+    private EntityManager bindEntityManager() {
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            return null;
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        return entityManager;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.project.quiz.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many requests of one route group run at once. Callers over the limit wait in a bounded
+ * queue for at most {@code maxWaitMillis}; when the queue is full or the wait runs out they are rejected,
+ * so one group can not take all Tomcat threads and connections from the others.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder queueFull = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMillis) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * @return true if the caller got a permit and must {@link #release()} it
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            queueFull.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                accepted.increment();
+                return true;
+            }
+            timeouts.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getQueueFull() {
+        return queueFull.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
@@ -0,0 +1,127 @@
+package ru.project.quiz.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.project.quiz.datasource.DataSourceContextHolder;
+import ru.project.quiz.handler.response.Response;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs each request inside the bulkhead of its route group and on the group's connection pool.
+ * Runs before security, so a login storm is limited before any password is checked.
+ * A permit of an async request is held until the async processing completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class BulkheadFilter extends OncePerRequestFilter {
+    private final static String serverBusy = "Сервер перегружен, повторите запрос позже";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final BulkheadProperties properties;
+    private final ObjectMapper objectMapper;
+
+    Logger log = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    public BulkheadFilter(BulkheadRegistry bulkheadRegistry, BulkheadProperties properties, ObjectMapper objectMapper) {
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        BulkheadRegistry.Route route = bulkheadRegistry.route(request.getRequestURI().substring(request.getContextPath().length()));
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Bulkhead bulkhead = route.getBulkhead();
+        if (!acquire(bulkhead)) {
+            log.warn("Запрос {} {} отклонен: группа {} перегружена", request.getMethod(), request.getRequestURI(), bulkhead.getName());
+            reject(response);
+            return;
+        }
+        boolean releaseOnComplete = false;
+        DataSourceContextHolder.set(route.getDataSource());
+        try {
+            filterChain.doFilter(request, response);
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new ReleaseListener(bulkhead));
+                releaseOnComplete = true;
+            }
+        } finally {
+            DataSourceContextHolder.clear();
+            if (!releaseOnComplete) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private boolean acquire(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new Response(serverBusy));
+    }
+
+    private static class ReleaseListener implements AsyncListener {
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseListener(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
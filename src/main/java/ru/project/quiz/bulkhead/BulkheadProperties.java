@@ -0,0 +1,88 @@
+package ru.project.quiz.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.project.quiz.datasource.DataSourceType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "quiz.bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    /**
+     * Route groups by name, a request goes to the first group with a matching pattern.
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<String, Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+        /**
+         * Ant patterns of request paths.
+         */
+        private List<String> patterns = new ArrayList<>();
+        private int maxConcurrent = 32;
+        private int maxQueue = 64;
+        private long maxWaitMs = 1000;
+        /**
+         * Connection pool for the group's requests, see quiz.datasource.admin-pool.
+         */
+        private DataSourceType dataSource = DataSourceType.PRIMARY;
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public void setPatterns(List<String> patterns) {
+            this.patterns = patterns;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(int maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public DataSourceType getDataSource() {
+            return dataSource;
+        }
+
+        public void setDataSource(DataSourceType dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
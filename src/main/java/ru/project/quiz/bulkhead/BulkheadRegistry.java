@@ -0,0 +1,63 @@
+package ru.project.quiz.bulkhead;
+
+import org.springframework.util.AntPathMatcher;
+import ru.project.quiz.datasource.DataSourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulkheads of the configured route groups and the lookup of the group for a request path.
+ */
+public class BulkheadRegistry {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Route> routes = new ArrayList<>();
+
+    public BulkheadRegistry(BulkheadProperties properties) {
+        for (Map.Entry<String, BulkheadProperties.Group> entry : properties.getGroups().entrySet()) {
+            BulkheadProperties.Group group = entry.getValue();
+            Bulkhead bulkhead = new Bulkhead(entry.getKey(), group.getMaxConcurrent(), group.getMaxQueue(), group.getMaxWaitMs());
+            routes.add(new Route(group.getPatterns(), bulkhead, group.getDataSource()));
+        }
+    }
+
+    /**
+     * @return route of the first group matching the path, or null if the path is not limited
+     */
+    public Route route(String path) {
+        for (Route route : routes) {
+            for (String pattern : route.patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    public List<Route> getRoutes() {
+        return Collections.unmodifiableList(routes);
+    }
+
+    public static class Route {
+        private final List<String> patterns;
+        private final Bulkhead bulkhead;
+        private final DataSourceType dataSource;
+
+        Route(List<String> patterns, Bulkhead bulkhead, DataSourceType dataSource) {
+            this.patterns = patterns;
+            this.bulkhead = bulkhead;
+            this.dataSource = dataSource;
+        }
+
+        public Bulkhead getBulkhead() {
+            return bulkhead;
+        }
+
+        public DataSourceType getDataSource() {
+            return dataSource;
+        }
+    }
+}
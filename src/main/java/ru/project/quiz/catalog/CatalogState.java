@@ -0,0 +1,134 @@
+package ru.project.quiz.catalog;
+
+import ru.project.quiz.domain.enums.question.CategoryType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Snapshot plus the changes made after it. Immutable, a refresh builds a new state so readers never lock.
+ */
+final class CatalogState {
+    private static final int MAX_ATTEMPTS_PER_ID = 20;
+
+    private final QuestionCatalogSnapshot snapshot;
+    private final Map<Long, CategoryType> changed;
+    private final Set<Long> removed;
+    private final Map<CategoryType, long[]> changedByCategory;
+    private final long since;
+
+    CatalogState(QuestionCatalogSnapshot snapshot) {
+        this(snapshot, Map.of(), Set.of(), snapshot.getWatermark());
+    }
+
+    private CatalogState(QuestionCatalogSnapshot snapshot, Map<Long, CategoryType> changed, Set<Long> removed, long since) {
+        this.snapshot = snapshot;
+        this.changed = changed;
+        this.removed = removed;
+        this.since = since;
+        this.changedByCategory = new EnumMap<>(CategoryType.class);
+        for (CategoryType category : CategoryType.values()) {
+            changedByCategory.put(category, changed.entrySet().stream()
+                    .filter(entry -> entry.getValue() == category)
+                    .mapToLong(Map.Entry::getKey)
+                    .sorted()
+                    .toArray());
+        }
+    }
+
+    /**
+     * @param changedRows questions created or changed since the last delta, with their current category
+     * @param deletedIds  questions deleted since the last delta
+     * @param since       time the delta was read at, the next one starts from it
+     */
+    CatalogState withDelta(Map<Long, CategoryType> changedRows, Set<Long> deletedIds, long since) {
+        Map<Long, CategoryType> nextChanged = new HashMap<>(changed);
+        Set<Long> nextRemoved = new HashSet<>(removed);
+        nextChanged.putAll(changedRows);
+        nextRemoved.removeAll(changedRows.keySet());
+        nextChanged.keySet().removeAll(deletedIds);
+        nextRemoved.addAll(deletedIds);
+        return new CatalogState(snapshot, nextChanged, nextRemoved, since);
+    }
+
+    QuestionCatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    long getSince() {
+        return since;
+    }
+
+    int getChangedCount() {
+        return changed.size() + removed.size();
+    }
+
+    /**
+     * Up to {@code count} distinct random ids of questions in the given categories. A small pool is
+     * shuffled whole, a large one is sampled by position and stale snapshot records are skipped.
+     */
+    List<Long> randomIds(int count, Set<CategoryType> categories, Random random) {
+        List<CategoryType> order = new ArrayList<>(categories);
+        int[] from = new int[order.size()];
+        int[] snapshotSizes = new int[order.size()];
+        long total = 0;
+        for (int i = 0; i < order.size(); i++) {
+            from[i] = snapshot.firstIndex(order.get(i));
+            snapshotSizes[i] = snapshot.endIndex(order.get(i)) - from[i];
+            total += snapshotSizes[i] + changedByCategory.get(order.get(i)).length;
+        }
+        if (count <= 0 || total == 0) {
+            return List.of();
+        }
+        if (total <= (long) count * 2) {
+            List<Long> all = new ArrayList<>();
+            for (int i = 0; i < order.size(); i++) {
+                for (int index = from[i]; index < from[i] + snapshotSizes[i]; index++) {
+                    long id = snapshot.id(index);
+                    if (isCurrent(id)) {
+                        all.add(id);
+                    }
+                }
+                for (long id : changedByCategory.get(order.get(i))) {
+                    all.add(id);
+                }
+            }
+            Collections.shuffle(all, random);
+            return all.size() > count ? new ArrayList<>(all.subList(0, count)) : all;
+        }
+        Set<Long> picked = new LinkedHashSet<>();
+        long attempts = (long) count * MAX_ATTEMPTS_PER_ID;
+        while (picked.size() < count && attempts-- > 0) {
+            long position = (long) (random.nextDouble() * total);
+            for (int i = 0; i < order.size(); i++) {
+                if (position < snapshotSizes[i]) {
+                    long id = snapshot.id(from[i] + (int) position);
+                    if (isCurrent(id)) {
+                        picked.add(id);
+                    }
+                    break;
+                }
+                position -= snapshotSizes[i];
+                long[] changedIds = changedByCategory.get(order.get(i));
+                if (position < changedIds.length) {
+                    picked.add(changedIds[(int) position]);
+                    break;
+                }
+                position -= changedIds.length;
+            }
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private boolean isCurrent(long snapshotId) {
+        return !changed.containsKey(snapshotId) && !removed.contains(snapshotId);
+    }
+}
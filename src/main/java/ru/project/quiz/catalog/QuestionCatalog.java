@@ -0,0 +1,247 @@
+package ru.project.quiz.catalog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.project.quiz.domain.enums.question.CategoryType;
+import ru.project.quiz.domain.enums.question.DifficultyType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ids and categories of all questions, used to pick random questions without scanning the table.
+ * Kept in a memory-mapped snapshot file, so a restart maps the file and reads only the rows changed
+ * after it instead of the whole bank. Until the catalog is loaded it returns nothing and callers
+ * fall back to the database.
+ */
+@Component
+public class QuestionCatalog {
+    //a row committed later than delta-margin-ms after its change time is missed until the next rebuild
+    private static final String CHANGED_QUERY = "SELECT id, category_type FROM questions " +
+            "WHERE coalesce(updated_at, created_at) > ?";
+    private static final String DELETED_QUERY = "SELECT id FROM question_deleted WHERE deleted_at > ?";
+    private static final String SNAPSHOT_QUERY = "SELECT id, coalesce(updated_at, created_at) AS changed_at, " +
+            "difficulty_type, name FROM questions WHERE category_type = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private volatile CatalogState state;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final Object rebuildLock = new Object();
+
+    @Value("${quiz.catalog.enabled:false}")
+    private boolean enabled;
+
+    @Value("${quiz.catalog.snapshot-path:question-catalog.snapshot}")
+    private String snapshotPath;
+
+    @Value("${quiz.catalog.delta-margin-ms:60000}")
+    private long deltaMarginMillis;
+
+    @Value("${quiz.catalog.refresh-ms:5000}")
+    private long refreshMillis;
+
+    @Value("${quiz.catalog.stale-after-refreshes:5}")
+    private int staleAfterRefreshes;
+
+    Logger log = LoggerFactory.getLogger(QuestionCatalog.class);
+
+    public QuestionCatalog(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           @Value("${quiz.catalog.fetch-size:5000}") int fetchSize) {
+        //a separate template, so the snapshot is streamed in batches instead of read into memory at once
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Maps the snapshot before the application reports ready. Building a missing snapshot reads the whole
+     * table, so that runs in the background and until it is done callers use the database.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Path path = Paths.get(snapshotPath);
+        try {
+            state = new CatalogState(QuestionCatalogSnapshot.open(path));
+        } catch (NoSuchFileException e) {
+            log.info("Снимок каталога вопросов {} не найден, каталог строится из базы в фоне", path);
+            rebuildInBackground();
+            return;
+        } catch (IOException e) {
+            log.warn("Снимок каталога вопросов {} не прочитан, каталог строится из базы в фоне", path, e);
+            rebuildInBackground();
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Не удалось загрузить изменения вопросов после снимка {}", path, e);
+        }
+        log.info("Каталог вопросов загружен из {} за {} мс: {} вопросов в снимке, {} изменений после него",
+                path, System.currentTimeMillis() - start, state.getSnapshot().size(), state.getChangedCount());
+    }
+
+    /**
+     * Applies the questions changed and deleted since the previous refresh.
+     */
+    public synchronized void refresh() {
+        CatalogState current = state;
+        if (current == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Timestamp from = new Timestamp(current.getSince() - deltaMarginMillis);
+        Map<Long, CategoryType> changed = new HashMap<>();
+        Set<Long> deleted = new HashSet<>();
+        jdbcTemplate.query(CHANGED_QUERY, rs -> {
+            CategoryType category = categoryOf(rs.getString("category_type"));
+            if (category == null) {
+                deleted.add(rs.getLong("id"));
+            } else {
+                changed.put(rs.getLong("id"), category);
+            }
+        }, from);
+        jdbcTemplate.query(DELETED_QUERY, rs -> {
+            deleted.add(rs.getLong("id"));
+        }, from);
+        state = current.withDelta(changed, deleted, now);
+        stale.set(false);
+    }
+
+    /**
+     * Writes a new snapshot from the database and switches to it, which also folds the applied deltas in.
+     * Refreshes keep going on the old state while the table is read.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            writeSnapshot();
+        }
+    }
+
+    private void writeSnapshot() {
+        long start = System.currentTimeMillis();
+        Path path = Paths.get(snapshotPath).toAbsolutePath();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (QuestionCatalogSnapshot.Writer writer = new QuestionCatalogSnapshot.Writer(path, start)) {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    for (CategoryType category : CategoryType.values()) {
+                        jdbcTemplate.query(SNAPSHOT_QUERY, rs -> {
+                            try {
+                                Timestamp changedAt = rs.getTimestamp("changed_at");
+                                writer.add(rs.getLong("id"), changedAt == null ? 0 : changedAt.getTime(), category,
+                                        difficultyOf(rs.getString("difficulty_type")), rs.getString("name"));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }, category.name());
+                    }
+                });
+                writer.commit();
+            }
+            install(QuestionCatalogSnapshot.open(path));
+            log.info("Снимок каталога вопросов {} построен за {} мс: {} вопросов",
+                    path, System.currentTimeMillis() - start, state.getSnapshot().size());
+        } catch (IOException | RuntimeException e) {
+            log.error("Не удалось построить снимок каталога вопросов {}", path, e);
+        }
+    }
+
+    private synchronized void install(QuestionCatalogSnapshot snapshot) {
+        state = new CatalogState(snapshot);
+        refresh();
+    }
+
+    /**
+     * @return ids of random questions in the given categories, empty when the catalog is not loaded or
+     * has not been refreshed for several refresh intervals
+     */
+    public List<Long> randomIds(int count, Collection<String> categories) {
+        CatalogState current = state;
+        if (current == null || isStale(current)) {
+            return List.of();
+        }
+        Set<CategoryType> categoryTypes = EnumSet.noneOf(CategoryType.class);
+        for (String category : categories) {
+            CategoryType categoryType = categoryOf(category);
+            if (categoryType != null) {
+                categoryTypes.add(categoryType);
+            }
+        }
+        return current.randomIds(count, categoryTypes, ThreadLocalRandom.current());
+    }
+
+    public boolean isLoaded() {
+        return state != null;
+    }
+
+    private boolean isStale(CatalogState current) {
+        long age = System.currentTimeMillis() - current.getSince();
+        if (age <= refreshMillis * staleAfterRefreshes) {
+            return false;
+        }
+        if (stale.compareAndSet(false, true)) {
+            log.warn("Каталог вопросов не обновлялся {} мс, вопросы выбираются из базы", age);
+        }
+        return true;
+    }
+
+    private void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "question-catalog-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static CategoryType categoryOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return CategoryType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static DifficultyType difficultyOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return DifficultyType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
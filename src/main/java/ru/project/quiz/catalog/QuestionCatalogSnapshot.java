@@ -0,0 +1,262 @@
+package ru.project.quiz.catalog;
+
+import ru.project.quiz.domain.enums.question.CategoryType;
+import ru.project.quiz.domain.enums.question.DifficultyType;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only question index mapped from a file, so opening it costs the same for any size of the bank
+ * and only the mapping lives on the heap.
+ * <pre>
+ * header   64 bytes: magic, format version, watermark, record count, enum signature,
+ *                    heap offset, heap length, CRC32C of everything after the header
+ * records  32 bytes each, sorted by category and id: id, changed at, category, difficulty,
+ *                    name offset and length in the heap
+ * heap     UTF-8 question names
+ * </pre>
+ * The watermark is the time in epoch milliseconds from which changes are not yet in the file.
+ */
+public final class QuestionCatalogSnapshot {
+    static final int MAGIC = 0x51434154;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 32;
+    private static final int NO_DIFFICULTY = -1;
+    private static final int CHECKSUM_CHUNK = 1 << 20;
+
+    private static final CategoryType[] CATEGORIES = CategoryType.values();
+    private static final DifficultyType[] DIFFICULTIES = DifficultyType.values();
+    private static final int ENUM_SIGNATURE = enumSignature();
+
+    private final ByteBuffer buffer;
+    private final long watermark;
+    private final int size;
+    private final int heapOffset;
+
+    private QuestionCatalogSnapshot(ByteBuffer buffer, long watermark, int size, int heapOffset) {
+        this.buffer = buffer;
+        this.watermark = watermark;
+        this.size = size;
+        this.heapOffset = heapOffset;
+    }
+
+    /**
+     * Maps the file and checks it; an IOException means the file has to be rebuilt.
+     */
+    public static QuestionCatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Bad snapshot size " + fileSize + ": " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a question catalog snapshot: " + path);
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format " + buffer.getInt(4) + ": " + path);
+            }
+            if (buffer.getInt(20) != ENUM_SIGNATURE) {
+                throw new IOException("Snapshot was written for other categories or difficulties: " + path);
+            }
+            long watermark = buffer.getLong(8);
+            int size = buffer.getInt(16);
+            long heapOffset = buffer.getLong(24);
+            long heapLength = buffer.getLong(32);
+            if (size < 0 || heapOffset != HEADER_SIZE + (long) size * RECORD_SIZE || heapOffset + heapLength != fileSize) {
+                throw new IOException("Inconsistent snapshot header: " + path);
+            }
+            if (buffer.getLong(40) != checksum(buffer, HEADER_SIZE, (int) fileSize)) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+            return new QuestionCatalogSnapshot(buffer, watermark, size, (int) heapOffset);
+        }
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int index) {
+        return buffer.getLong(record(index));
+    }
+
+    public long changedAt(int index) {
+        return buffer.getLong(record(index) + 8);
+    }
+
+    public CategoryType category(int index) {
+        return CATEGORIES[buffer.get(record(index) + 16)];
+    }
+
+    public DifficultyType difficulty(int index) {
+        byte difficulty = buffer.get(record(index) + 17);
+        return difficulty == NO_DIFFICULTY ? null : DIFFICULTIES[difficulty];
+    }
+
+    public String name(int index) {
+        int record = record(index);
+        int length = buffer.getInt(record + 24);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer heap = buffer.duplicate();
+        heap.position(heapOffset + buffer.getInt(record + 20));
+        heap.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * First index of the category's records, or of the next category when it has none.
+     */
+    public int firstIndex(CategoryType category) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.get(record(middle) + 16) < category.ordinal()) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public int endIndex(CategoryType category) {
+        return category.ordinal() + 1 < CATEGORIES.length ? firstIndex(CATEGORIES[category.ordinal() + 1]) : size;
+    }
+
+    private int record(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size);
+        }
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static long checksum(ByteBuffer buffer, int from, int to) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer view = buffer.duplicate();
+        for (int position = from; position < to; position += CHECKSUM_CHUNK) {
+            view.limit(Math.min(to, position + CHECKSUM_CHUNK)).position(position);
+            crc.update(view);
+        }
+        return crc.getValue();
+    }
+
+    private static int enumSignature() {
+        CRC32 crc = new CRC32();
+        crc.update((Arrays.toString(CATEGORIES) + Arrays.toString(DIFFICULTIES)).getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Writes a snapshot next to the target and moves it in place on commit, so a reader never
+     * maps a half-written file. Records have to come in category and id order.
+     */
+    public static final class Writer implements Closeable {
+        private final Path target;
+        private final Path recordsFile;
+        private final Path heapFile;
+        private final long watermark;
+        private final DataOutputStream records;
+        private final DataOutputStream heap;
+        private int size;
+        private long heapLength;
+        private int lastCategory = -1;
+        private long lastId;
+        private boolean committed;
+
+        public Writer(Path target, long watermark) throws IOException {
+            this.target = target;
+            this.recordsFile = target.resolveSibling(target.getFileName() + ".tmp");
+            this.heapFile = target.resolveSibling(target.getFileName() + ".heap.tmp");
+            this.watermark = watermark;
+            this.records = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(recordsFile)));
+            this.heap = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(heapFile)));
+            records.write(new byte[HEADER_SIZE]);
+        }
+
+        public void add(long id, long changedAt, CategoryType category, DifficultyType difficulty, String name) throws IOException {
+            if (category.ordinal() < lastCategory || category.ordinal() == lastCategory && id <= lastId) {
+                throw new IllegalArgumentException("Question " + id + " of " + category + " is out of order");
+            }
+            byte[] bytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+            if (heapLength + bytes.length + HEADER_SIZE + (long) (size + 1) * RECORD_SIZE > Integer.MAX_VALUE) {
+                throw new IOException("Question catalog does not fit into one mapped file");
+            }
+            records.writeLong(id);
+            records.writeLong(changedAt);
+            records.writeByte(category.ordinal());
+            records.writeByte(difficulty == null ? NO_DIFFICULTY : difficulty.ordinal());
+            records.writeShort(0);
+            records.writeInt((int) heapLength);
+            records.writeInt(name == null ? -1 : bytes.length);
+            records.writeInt(0);
+            heap.write(bytes);
+            heapLength += bytes.length;
+            lastCategory = category.ordinal();
+            lastId = id;
+            size++;
+        }
+
+        public void commit() throws IOException {
+            records.close();
+            heap.close();
+            try (FileChannel channel = FileChannel.open(recordsFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileChannel heapChannel = FileChannel.open(heapFile, StandardOpenOption.READ)) {
+                long position = channel.size();
+                long transferred = 0;
+                while (transferred < heapLength) {
+                    transferred += heapChannel.transferTo(transferred, heapLength - transferred, channel.position(position + transferred));
+                }
+                long fileSize = channel.size();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(watermark)
+                        .putInt(size)
+                        .putInt(ENUM_SIGNATURE)
+                        .putLong(HEADER_SIZE + (long) size * RECORD_SIZE)
+                        .putLong(heapLength)
+                        .putLong(checksum(channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize), HEADER_SIZE, (int) fileSize));
+                header.clear();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            Files.move(recordsFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+            heap.close();
+            Files.deleteIfExists(heapFile);
+            if (!committed) {
+                Files.deleteIfExists(recordsFile);
+            }
+        }
+    }
+}
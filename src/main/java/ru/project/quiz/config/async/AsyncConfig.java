@@ -0,0 +1,50 @@
+package ru.project.quiz.config.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.project.quiz.async.RequestContextTaskDecorator;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${quiz.async.pool-size:10}")
+    private int poolSize;
+    @Value("${quiz.async.queue-capacity:100}")
+    private int queueCapacity;
+    @Value("${quiz.async.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    public AsyncConfig(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Runs the database work of async endpoints. Sized like the connection pool: more threads
+     * would only wait for connections, and a full queue is rejected with 503 instead of piling up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor quizExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("quiz-db-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(new RequestContextTaskDecorator(entityManagerFactory));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(quizExecutor());
+        configurer.setDefaultTimeout(timeoutMillis);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.project.quiz.config.bulkhead;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.project.quiz.bulkhead.BulkheadProperties;
+import ru.project.quiz.bulkhead.BulkheadRegistry;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(BulkheadProperties properties) {
+        return new BulkheadRegistry(properties);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.project.quiz.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import ru.project.quiz.datasource.DataSourceType;
+import ru.project.quiz.datasource.LazyRoutingDataSource;
+import ru.project.quiz.datasource.ReplicaLagMonitor;
+import ru.project.quiz.datasource.RoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource when admin requests get their own small connection pool,
+ * so a heavy import or report can not take the connections of quiz traffic, or when read-only
+ * transactions are sent to a replica.
+ */
+@Configuration
+@ConditionalOnExpression("${quiz.datasource.admin-pool.enabled:false} or ${quiz.datasource.replica.enabled:false}")
+public class RoutingDataSourceConfig {
+
+    /**
+     * The router is built here rather than exposed as a bean of its own, so it is the only DataSource bean
+     * and post-processors that wrap data sources wrap it once. Consumers get it with
+     * {@code dataSource.unwrap(RoutingDataSource.class)}.
+     * <p>
+     * The physical connection is taken on the first statement, when the transaction is already marked
+     * read-only, so {@link RoutingDataSource} can see where it should go.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int primaryPoolSize,
+                                 @Value("${quiz.datasource.admin-pool.enabled:false}") boolean adminPoolEnabled,
+                                 @Value("${quiz.datasource.admin-pool.maximum-pool-size:2}") int adminPoolSize,
+                                 @Value("${quiz.datasource.replica.enabled:false}") boolean replicaEnabled,
+                                 @Value("${quiz.datasource.replica.url:}") String replicaUrl,
+                                 @Value("${quiz.datasource.replica.username:}") String replicaUsername,
+                                 @Value("${quiz.datasource.replica.password:}") String replicaPassword,
+                                 @Value("${quiz.datasource.replica.maximum-pool-size:10}") int replicaPoolSize,
+                                 @Value("${quiz.datasource.replica.max-lag-ms:1000}") long maxLagMillis) {
+        Map<DataSourceType, HikariDataSource> pools = new EnumMap<>(DataSourceType.class);
+        pools.put(DataSourceType.PRIMARY, pool(properties, "primary", primaryPoolSize));
+        if (adminPoolEnabled) {
+            pools.put(DataSourceType.ADMIN, pool(properties, "admin", adminPoolSize));
+        }
+        if (!replicaEnabled) {
+            return new LazyRoutingDataSource(new RoutingDataSource(pools));
+        }
+        HikariDataSource replica = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername)
+                .password(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(replicaPoolSize);
+        replica.setReadOnly(true);
+        pools.put(DataSourceType.REPLICA, replica);
+        return new LazyRoutingDataSource(new RoutingDataSource(pools, new ReplicaLagMonitor(replica, maxLagMillis)));
+    }
+
+    /**
+     * By default a session keeps its first connection until it is closed, and with open-in-view that is the
+     * whole request. Releasing it after each transaction lets every transaction pick primary or replica anew.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "quiz.datasource.replica.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return hibernateProperties -> hibernateProperties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "quiz.datasource.replica.enabled", havingValue = "true")
+    public MeterBinder replicaLagMetrics(DataSource dataSource) throws SQLException {
+        ReplicaLagMonitor replicaLagMonitor = dataSource.unwrap(RoutingDataSource.class).getReplicaLagMonitor();
+        return registry -> Gauge.builder("datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagMillis)
+                .description("Отставание реплики в миллисекундах, -1 если реплика недоступна")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String name, int size) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        return pool;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.project.quiz.config.idempotency;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+@Configuration
+public class IdempotencyConfig {
+    private static final String CACHE_NAME = "quiz.idempotency";
+    private static final String EHCACHE_PROVIDER = "org.ehcache.jsr107.EhcacheCachingProvider";
+
+    /**
+     * Stored responses of idempotent requests. Size and TTL are set in ehcache.xml, next to the
+     * second-level cache regions.
+     */
+    @Bean
+    public Cache<String, String> idempotencyCache() throws IOException {
+        CacheManager cacheManager = Caching.getCachingProvider(EHCACHE_PROVIDER)
+                .getCacheManager(new ClassPathResource("ehcache.xml").getURI(), getClass().getClassLoader());
+        return cacheManager.getCache(CACHE_NAME, String.class, String.class);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.project.quiz.config.limit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.project.quiz.limit.ConcurrencyLimitProperties;
+import ru.project.quiz.limit.ConcurrencyLimiter;
+import ru.project.quiz.limit.GradientLimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(ConcurrencyLimitProperties properties) {
+        GradientLimit limit = new GradientLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getWindowSize(), properties.getTolerance(), properties.getSmoothing());
+        List<String> priorities = new ArrayList<>(properties.getPriorities().keySet());
+        priorities.add(ConcurrencyLimitProperties.DEFAULT_PRIORITY);
+        return new ConcurrencyLimiter(limit, priorities);
+    }
+}
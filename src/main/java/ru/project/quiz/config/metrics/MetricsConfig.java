@@ -0,0 +1,84 @@
+package ru.project.quiz.config.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.project.quiz.bulkhead.Bulkhead;
+import ru.project.quiz.bulkhead.BulkheadRegistry;
+import ru.project.quiz.limit.ConcurrencyLimiter;
+import ru.project.quiz.singleflight.SingleFlight;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder singleFlightMetrics(List<SingleFlight<?, ?>> singleFlights) {
+        return registry -> singleFlights.forEach(singleFlight -> {
+            FunctionCounter.builder("single.flight.calls", singleFlight, SingleFlight::getCalls)
+                    .description("Вызовы, включая присоединившиеся к уже идущей загрузке")
+                    .tag("name", singleFlight.getName())
+                    .register(registry);
+            FunctionCounter.builder("single.flight.executions", singleFlight, SingleFlight::getExecutions)
+                    .description("Фактические загрузки")
+                    .tag("name", singleFlight.getName())
+                    .register(registry);
+            FunctionCounter.builder("single.flight.timeouts", singleFlight, SingleFlight::getTimeouts)
+                    .description("Ожидания, прерванные по таймауту")
+                    .tag("name", singleFlight.getName())
+                    .register(registry);
+            Gauge.builder("single.flight.in.flight", singleFlight, SingleFlight::getInFlight)
+                    .description("Загрузки, идущие сейчас")
+                    .tag("name", singleFlight.getName())
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(BulkheadRegistry bulkheadRegistry) {
+        return registry -> bulkheadRegistry.getRoutes().forEach(route -> {
+            Bulkhead bulkhead = route.getBulkhead();
+            FunctionCounter.builder("bulkhead.accepted", bulkhead, Bulkhead::getAccepted)
+                    .description("Запросы, получившие разрешение")
+                    .tag("group", bulkhead.getName())
+                    .register(registry);
+            FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getQueueFull)
+                    .description("Запросы, отклоненные из-за переполненной очереди")
+                    .tags("group", bulkhead.getName(), "reason", "queue_full")
+                    .register(registry);
+            FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getTimeouts)
+                    .description("Запросы, не дождавшиеся разрешения")
+                    .tags("group", bulkhead.getName(), "reason", "timeout")
+                    .register(registry);
+            Gauge.builder("bulkhead.in.flight", bulkhead, Bulkhead::getInFlight)
+                    .description("Запросы, выполняющиеся сейчас")
+                    .tag("group", bulkhead.getName())
+                    .register(registry);
+            Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                    .description("Запросы, ожидающие разрешения")
+                    .tag("group", bulkhead.getName())
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimiter concurrencyLimiter) {
+        return registry -> {
+            Gauge.builder("concurrency.limit", concurrencyLimiter, ConcurrencyLimiter::getLimit)
+                    .description("Текущий адаптивный лимит одновременных запросов")
+                    .register(registry);
+            Gauge.builder("concurrency.in.flight", concurrencyLimiter, ConcurrencyLimiter::getInFlight)
+                    .description("Запросы под лимитом, выполняющиеся сейчас")
+                    .register(registry);
+            concurrencyLimiter.getDropped().forEach((priority, dropped) ->
+                    FunctionCounter.builder("concurrency.dropped", dropped, LongAdder::sum)
+                            .description("Запросы, сброшенные из-за лимита")
+                            .tag("priority", priority)
+                            .register(registry));
+        };
+    }
+}
\ No newline at end of file
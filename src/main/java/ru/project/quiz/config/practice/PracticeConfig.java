@@ -0,0 +1,22 @@
+package ru.project.quiz.config.practice;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.project.quiz.practice.PracticeTokenCodec;
+
+@Configuration
+public class PracticeConfig {
+
+    /**
+     * A key of its own, so a leaked practice key does not let anyone sign login tokens and the other way round.
+     */
+    @Bean
+    public PracticeTokenCodec practiceTokenCodec(@Value("${quiz.practice.secret}") String secret,
+                                                 @Value("${jwt.secret}") String jwtSecret) {
+        if (secret.isBlank() || secret.equals(jwtSecret)) {
+            throw new IllegalStateException("quiz.practice.secret должен быть задан и отличаться от jwt.secret");
+        }
+        return new PracticeTokenCodec(secret);
+    }
+}
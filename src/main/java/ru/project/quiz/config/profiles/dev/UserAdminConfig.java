@@ -7,6 +7,8 @@ import org.springframework.stereotype.Component;
 import ru.project.quiz.domain.entity.ituser.ITUser;
 import ru.project.quiz.domain.entity.ituser.Role;
 import ru.project.quiz.domain.enums.ituser.PermissionType;
+import ru.project.quiz.invalidation.CacheInvalidationPublisher;
+import ru.project.quiz.invalidation.CachedEntityType;
 import ru.project.quiz.repository.ituser.RoleRepository;
 import ru.project.quiz.repository.ituser.UserRepository;
 
@@ -15,16 +17,19 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
-@Profile("dev")
+@Profile({"dev", "embedded"})
 public class UserAdminConfig {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
-    public UserAdminConfig(UserRepository userRepository, RoleRepository roleRepository, BCryptPasswordEncoder bCryptPasswordEncoder) {
+    public UserAdminConfig(UserRepository userRepository, RoleRepository roleRepository, BCryptPasswordEncoder bCryptPasswordEncoder,
+                           CacheInvalidationPublisher cacheInvalidationPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
     }
 
     @Bean
@@ -36,6 +41,7 @@ public class UserAdminConfig {
                 Arrays.stream(PermissionType.values()).collect(Collectors.toSet())
         );
         roleRepository.save(role);
+        cacheInvalidationPublisher.publish(CachedEntityType.ROLE, role.getName());
         user.setEmail("test@mail.ru");
         user.setRoles(Set.of(role));
         userRepository.save(user);
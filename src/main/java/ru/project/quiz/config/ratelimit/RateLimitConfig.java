@@ -0,0 +1,41 @@
+package ru.project.quiz.config.ratelimit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.project.quiz.ratelimit.JdbcRateLimiter;
+import ru.project.quiz.ratelimit.LocalRateLimiter;
+import ru.project.quiz.ratelimit.RateLimitInterceptor;
+import ru.project.quiz.ratelimit.RateLimitProperties;
+import ru.project.quiz.ratelimit.RateLimiter;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+    private final RateLimitProperties properties;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public RateLimitConfig(RateLimitProperties properties, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.properties = properties;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        if (properties.getMode() == RateLimitProperties.Mode.JDBC) {
+            return new JdbcRateLimiter(namedJdbcTemplate);
+        }
+        return new LocalRateLimiter(properties.getMaxBuckets());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(new RateLimitInterceptor(rateLimiter(), properties))
+                    .addPathPatterns(properties.getPatterns());
+        }
+    }
+}
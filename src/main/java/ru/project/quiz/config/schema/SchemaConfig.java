@@ -0,0 +1,23 @@
+package ru.project.quiz.config.schema;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class SchemaConfig {
+
+    @Bean
+    public SchemaMetadataIntegrator schemaMetadataIntegrator() {
+        return new SchemaMetadataIntegrator();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer schemaMetadataIntegratorCustomizer(SchemaMetadataIntegrator schemaMetadataIntegrator) {
+        return properties -> properties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(schemaMetadataIntegrator));
+    }
+}
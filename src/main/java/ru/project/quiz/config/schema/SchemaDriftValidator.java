@@ -0,0 +1,187 @@
+package ru.project.quiz.config.schema;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Fails the startup when a mapped table or column is missing from the migrated schema, when a column type
+ * differs from the mapped one, or when a column mapped as not null accepts nulls.
+ * Replaces ddl-auto validate, which does not see partitioned tables through JDBC metadata.
+ * A column that is not null in the database but nullable in the mapping is not drift: partition keys are
+ * stricter than the entities.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.schema.validate", havingValue = "true")
+public class SchemaDriftValidator implements SmartInitializingSingleton {
+    private static final String SEQUENCE = "hibernate_sequence";
+
+    private final SchemaMetadataIntegrator schemaMetadataIntegrator;
+    private final JdbcTemplate jdbcTemplate;
+
+    Logger log = LoggerFactory.getLogger(SchemaDriftValidator.class);
+
+    public SchemaDriftValidator(SchemaMetadataIntegrator schemaMetadataIntegrator, JdbcTemplate jdbcTemplate) {
+        this.schemaMetadataIntegrator = schemaMetadataIntegrator;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Metadata metadata = schemaMetadataIntegrator.getMetadata();
+        if (metadata == null) {
+            throw new IllegalStateException("Hibernate metadata is not available, schema can not be validated");
+        }
+        Map<String, Map<String, ColumnInfo>> actual = loadSchema();
+        List<String> drift = new ArrayList<>();
+        for (Table table : metadata.collectTableMappings()) {
+            if (!table.isPhysicalTable()) {
+                continue;
+            }
+            String tableName = normalize(table.getName());
+            Map<String, ColumnInfo> columns = actual.get(tableName);
+            if (columns == null) {
+                drift.add("missing table " + tableName);
+                continue;
+            }
+            Iterator<Column> iterator = table.getColumnIterator();
+            while (iterator.hasNext()) {
+                Column column = iterator.next();
+                String columnName = tableName + "." + normalize(column.getName());
+                ColumnInfo info = columns.get(normalize(column.getName()));
+                if (info == null) {
+                    drift.add("missing column " + columnName);
+                    continue;
+                }
+                String expectedType = mappedType(column.getSqlTypeCode(metadata));
+                String actualType = databaseType(info.dataType);
+                if (expectedType != null && !expectedType.equals(actualType)) {
+                    drift.add("type mismatch " + columnName + ": expected " + expectedType + ", found " + info.dataType);
+                }
+                boolean notNull = !column.isNullable()
+                        || (table.getPrimaryKey() != null && table.getPrimaryKey().containsColumn(column));
+                if (notNull && info.nullable) {
+                    drift.add("nullable column " + columnName + " is mapped as not null");
+                }
+            }
+        }
+        Boolean sequenceExists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM information_schema.sequences WHERE sequence_schema = current_schema() AND sequence_name = ?)",
+                Boolean.class, SEQUENCE);
+        if (!Boolean.TRUE.equals(sequenceExists)) {
+            drift.add("missing sequence " + SEQUENCE);
+        }
+        if (!drift.isEmpty()) {
+            throw new IllegalStateException("Database schema does not match the entities: " + String.join(", ", drift));
+        }
+        log.info("Схема БД соответствует сущностям");
+    }
+
+    private Map<String, Map<String, ColumnInfo>> loadSchema() {
+        Map<String, Map<String, ColumnInfo>> schema = new HashMap<>();
+        jdbcTemplate.query("SELECT table_name, column_name, data_type, is_nullable FROM information_schema.columns WHERE table_schema = current_schema()",
+                rs -> {
+                    schema.computeIfAbsent(normalize(rs.getString("table_name")), key -> new HashMap<>())
+                            .put(normalize(rs.getString("column_name")),
+                                    new ColumnInfo(normalize(rs.getString("data_type")), "YES".equals(rs.getString("is_nullable"))));
+                });
+        return schema;
+    }
+
+    /**
+     * Type family of the mapped JDBC type, or null when the type is not compared.
+     */
+    static String mappedType(int sqlTypeCode) {
+        switch (sqlTypeCode) {
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return "smallint";
+            case Types.INTEGER:
+                return "integer";
+            case Types.BIGINT:
+                return "bigint";
+            case Types.BIT:
+            case Types.BOOLEAN:
+                return "boolean";
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return "text";
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return "timestamp";
+            case Types.DATE:
+                return "date";
+            case Types.TIME:
+            case Types.TIME_WITH_TIMEZONE:
+                return "time";
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return "double";
+            case Types.REAL:
+                return "real";
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return "numeric";
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return "binary";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Type family of information_schema.columns.data_type, in the terms of {@link #mappedType(int)}.
+     */
+    static String databaseType(String dataType) {
+        switch (dataType) {
+            case "character varying":
+            case "character":
+            case "text":
+                return "text";
+            case "timestamp without time zone":
+            case "timestamp with time zone":
+                return "timestamp";
+            case "time without time zone":
+            case "time with time zone":
+                return "time";
+            case "double precision":
+                return "double";
+            case "bytea":
+                return "binary";
+            default:
+                return dataType;
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ColumnInfo {
+        private final String dataType;
+        private final boolean nullable;
+
+        private ColumnInfo(String dataType, boolean nullable) {
+            this.dataType = dataType;
+            this.nullable = nullable;
+        }
+    }
+}
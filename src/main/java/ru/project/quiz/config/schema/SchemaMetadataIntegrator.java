@@ -0,0 +1,27 @@
+package ru.project.quiz.config.schema;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Keeps the boot-time mapping metadata, Hibernate does not expose it after the session factory is built.
+ */
+public class SchemaMetadataIntegrator implements Integrator {
+
+    private volatile Metadata metadata;
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = metadata;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.project.quiz.config.security;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import ru.project.quiz.domain.enums.ituser.PermissionType;
+import ru.project.quiz.service.ituser.Impl.ITUserServiceImpl;
+
+/**
+ * Actuator endpoints, checked before {@link SecurityConfig}. Health stays open for the probes; metrics
+ * show request paths, pool sizes and cache and rate-limit counters, so they need a user with
+ * READ_METRICS. Prometheus sends that user's credentials with HTTP Basic, a login JWT would expire.
+ */
+@Configuration
+@Order(1)
+public class ActuatorSecurityConfig extends WebSecurityConfigurerAdapter {
+    private final ITUserServiceImpl itUserService;
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    public ActuatorSecurityConfig(ITUserServiceImpl itUserService, BCryptPasswordEncoder bCryptPasswordEncoder) {
+        this.itUserService = itUserService;
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+    }
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        http
+                .antMatcher("/actuator/**")
+                .csrf().disable()
+                .authorizeRequests()
+                .antMatchers("/actuator/health/**").permitAll()
+                .antMatchers("/actuator/prometheus").hasAnyAuthority(PermissionType.READ_METRICS.name(), PermissionType.GRAND_PERMISSION.name())
+                .anyRequest().denyAll()
+                .and()
+                .httpBasic()
+                .and()
+                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+    }
+
+    @Override
+    protected void configure(AuthenticationManagerBuilder builder) throws Exception {
+        builder.userDetailsService(itUserService).passwordEncoder(bCryptPasswordEncoder);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.project.quiz.config.singleflight;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
+import ru.project.quiz.singleflight.SingleFlight;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight<String, QuizSampleCategoriesDTO> quizSampleSingleFlight(
+            @Value("${quiz.single-flight.timeout-ms:5000}") long timeoutMillis) {
+        return new SingleFlight<>("quiz-sample", timeoutMillis);
+    }
+}
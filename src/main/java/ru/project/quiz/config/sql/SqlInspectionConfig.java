@@ -0,0 +1,40 @@
+package ru.project.quiz.config.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.project.quiz.sql.SqlInspectionListener;
+import ru.project.quiz.sql.SqlInspectionProperties;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SqlInspectionProperties.class)
+public class SqlInspectionConfig {
+
+    /**
+     * Wraps every DataSource so that statements and fetched rows reach {@link SqlInspectionListener}.
+     * Static, because post-processors are created before the rest of the configuration.
+     */
+    @Bean
+    public static BeanPostProcessor sqlInspectionDataSourcePostProcessor(ObjectProvider<SqlInspectionProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || !properties.getObject().isEnabled()) {
+                    return bean;
+                }
+                SqlInspectionListener listener = new SqlInspectionListener(properties.getObject());
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package ru.project.quiz.config.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Skips every auto-configuration that is not listed in {@code quiz.fast-start.auto-configuration-allowlist},
+ * so their conditions are not even evaluated. An entry ending with a dot allows a whole package.
+ * Without the property nothing is skipped. Registered in META-INF/spring.factories.
+ */
+public class AutoConfigurationAllowlistFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+    static final String ALLOWLIST = "quiz.fast-start.auto-configuration-allowlist";
+
+    private List<String> allowlist = List.of();
+
+    Logger log = LoggerFactory.getLogger(AutoConfigurationAllowlistFilter.class);
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        allowlist = Binder.get(environment).bind(ALLOWLIST, Bindable.listOf(String.class)).orElse(List.of());
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        boolean[] match = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            String autoConfiguration = autoConfigurationClasses[i];
+            match[i] = autoConfiguration == null || isAllowed(autoConfiguration);
+            if (!match[i]) {
+                log.debug("Автоконфигурация {} пропущена, ее нет в {}", autoConfiguration, ALLOWLIST);
+            }
+        }
+        return match;
+    }
+
+    boolean isAllowed(String autoConfiguration) {
+        if (allowlist.isEmpty()) {
+            return true;
+        }
+        for (String allowed : allowlist) {
+            if (allowed.endsWith(".") ? autoConfiguration.startsWith(allowed) : autoConfiguration.equals(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
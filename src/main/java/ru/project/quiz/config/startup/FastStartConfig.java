@@ -0,0 +1,57 @@
+package ru.project.quiz.config.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.Filter;
+import java.util.Arrays;
+
+/**
+ * Profile {@code fast-start}: everything is created lazily except the application's own request path,
+ * controllers, filters and interceptors with all they depend on, so the first request does not pay for it,
+ * and the schedulers, which are registered only when their bean is created.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+    private static final String APPLICATION_PACKAGE = "ru.project.quiz.";
+
+    Logger log = LoggerFactory.getLogger(FastStartConfig.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter requestPathExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && beanType.getName().startsWith(APPLICATION_PACKAGE)
+                && (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || Filter.class.isAssignableFrom(beanType)
+                || HandlerInterceptor.class.isAssignableFrom(beanType)
+                || Arrays.stream(ReflectionUtils.getUniqueDeclaredMethods(beanType))
+                .anyMatch(method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)));
+    }
+
+    /**
+     * Training run of the appcds Maven profile: the class list is complete once the warm-up is over.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "quiz.fast-start.exit-after-startup", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitAfterStartup(ConfigurableApplicationContext context) {
+        return event -> {
+            log.info("Запуск завершен, приложение остановлено для записи списка классов");
+            System.exit(SpringApplication.exit(context));
+        };
+    }
+}
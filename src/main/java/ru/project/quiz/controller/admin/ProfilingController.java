@@ -0,0 +1,35 @@
+package ru.project.quiz.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.project.quiz.domain.dto.profiling.RecordingDTO;
+import ru.project.quiz.service.profiling.ProfilingService;
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+@Tag(name = "Профилирование")
+public class ProfilingController {
+    private final ProfilingService profilingService;
+
+    private static final String RECORDING = "/recording";
+
+    @Operation(summary = "Начать запись JFR на заданное число секунд, файл сохраняется на сервере", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(RECORDING)
+    public ResponseEntity<RecordingDTO> startRecording(@RequestParam(defaultValue = "60") int seconds) {
+        return new ResponseEntity<>(profilingService.startRecording(seconds), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "Состояние последней записи JFR", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping(RECORDING)
+    public ResponseEntity<RecordingDTO> getRecording() {
+        return new ResponseEntity<>(profilingService.getRecording(), HttpStatus.OK);
+    }
+
+    public ProfilingController(ProfilingService profilingService) {
+        this.profilingService = profilingService;
+    }
+}
@@ -0,0 +1,41 @@
+package ru.project.quiz.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.project.quiz.domain.dto.statistics.CacheRegionStatisticsDTO;
+import ru.project.quiz.domain.dto.statistics.SingleFlightStatisticsDTO;
+import ru.project.quiz.service.statistics.StatisticsService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/statistics")
+@Tag(name = "Статистика")
+public class StatisticsController {
+    private final StatisticsService statisticsService;
+
+    private static final String CACHE = "/cache";
+    private static final String SINGLE_FLIGHT = "/single_flight";
+
+    @Operation(summary = "Статистика регионов кэша второго уровня", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping(CACHE)
+    public ResponseEntity<List<CacheRegionStatisticsDTO>> getCacheStatistics() {
+        return new ResponseEntity<>(statisticsService.getCacheStatistics(), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Статистика объединения одновременных загрузок", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping(SINGLE_FLIGHT)
+    public ResponseEntity<List<SingleFlightStatisticsDTO>> getSingleFlightStatistics() {
+        return new ResponseEntity<>(statisticsService.getSingleFlightStatistics(), HttpStatus.OK);
+    }
+
+    public StatisticsController(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+}
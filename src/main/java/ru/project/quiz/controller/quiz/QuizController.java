@@ -5,37 +5,89 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
+import ru.project.quiz.domain.dto.quiz.LeaderboardEntryDTO;
 import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.service.idempotency.IdempotencyService;
+import ru.project.quiz.service.quiz.PracticeQuizService;
 import ru.project.quiz.service.quiz.QuizService;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @Tag(name = "Контроллер тестов")
 @RequestMapping("/api/quiz")
 public class QuizController {
     private final QuizService quizService;
+    private final ThreadPoolTaskExecutor quizExecutor;
+    private final IdempotencyService idempotencyService;
+    private final PracticeQuizService practiceQuizService;
+    private final static String IDEMPOTENCY_KEY = "Idempotency-Key";
     private final static String CREATE_QUIZ = "/create";
     private final static String FINISH_QUIZ = "/finish";
+    private final static String CREATE_PRACTICE_QUIZ = "/practice/create";
+    private final static String FINISH_PRACTICE_QUIZ = "/practice/finish";
+    private final static String HISTORY = "/history";
+    private final static String LEADERBOARD = "/leaderboard";
 
     @Operation(summary = "Создание квиза (теста)", security = @SecurityRequirement(name = "bearerAuth"))
     @GetMapping(CREATE_QUIZ)
-    public ResponseEntity<QuizDTO> getQuiz(HttpServletRequest httpServletRequest, @RequestParam int numberOfQuestions,
-                                           @RequestParam String quizName) {
-        QuizDTO quiz = quizService.createQuiz(numberOfQuestions, quizName);
-        return new ResponseEntity<>(quiz, HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<QuizDTO>> getQuiz(HttpServletRequest httpServletRequest, @RequestParam int numberOfQuestions,
+                                                              @RequestParam String quizName,
+                                                              @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, CREATE_QUIZ, List.of(numberOfQuestions, quizName), QuizDTO.class,
+                () -> CompletableFuture.supplyAsync(() -> quizService.createQuiz(numberOfQuestions, quizName), quizExecutor))
+                .thenApply(quizDTO -> new ResponseEntity<>(quizDTO, HttpStatus.OK));
     }
 
 
     @Operation(summary = "Завершение квиза(теста)", security = @SecurityRequirement(name = "bearerAuth"))
     @PostMapping(FINISH_QUIZ)
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<QuizDTO> finishQuiz(@RequestBody QuizDTO quizDTO) {
-        return new ResponseEntity<>(quizService.finishQuiz(quizDTO), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<QuizDTO>> finishQuiz(@RequestBody QuizDTO quizDTO,
+                                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, FINISH_QUIZ, quizDTO, QuizDTO.class,
+                () -> CompletableFuture.supplyAsync(() -> quizService.finishQuiz(quizDTO), quizExecutor))
+                .thenApply(finishedQuiz -> new ResponseEntity<>(finishedQuiz, HttpStatus.OK));
     }
 
-    public QuizController(QuizService quizService) {
+    @Operation(summary = "Создание тренировочного квиза без сохранения, вопросы подписаны в токене", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping(CREATE_PRACTICE_QUIZ)
+    public CompletableFuture<ResponseEntity<QuizDTO>> getPracticeQuiz(@RequestParam int numberOfQuestions, @RequestParam String quizName) {
+        return CompletableFuture.supplyAsync(
+                () -> new ResponseEntity<>(practiceQuizService.createPracticeQuiz(numberOfQuestions, quizName), HttpStatus.OK),
+                quizExecutor);
+    }
+
+    @Operation(summary = "Завершение тренировочного квиза по токену", security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(FINISH_PRACTICE_QUIZ)
+    public CompletableFuture<ResponseEntity<QuizDTO>> finishPracticeQuiz(@RequestBody QuizDTO quizDTO) {
+        return CompletableFuture.supplyAsync(
+                () -> new ResponseEntity<>(practiceQuizService.finishPracticeQuiz(quizDTO), HttpStatus.OK),
+                quizExecutor);
+    }
+
+    @Operation(summary = "История завершенных квизов за период", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping(HISTORY)
+    public ResponseEntity<List<QuizDTO>> getHistory(@RequestParam(defaultValue = "30") int days) {
+        return new ResponseEntity<>(quizService.getHistory(days), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Таблица лидеров за период", security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping(LEADERBOARD)
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(@RequestParam(defaultValue = "7") int days,
+                                                                    @RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(quizService.getLeaderboard(days, limit), HttpStatus.OK);
+    }
+
+    public QuizController(QuizService quizService, ThreadPoolTaskExecutor quizExecutor, IdempotencyService idempotencyService,
+                          PracticeQuizService practiceQuizService) {
         this.quizService = quizService;
+        this.quizExecutor = quizExecutor;
+        this.idempotencyService = idempotencyService;
+        this.practiceQuizService = practiceQuizService;
     }
 }
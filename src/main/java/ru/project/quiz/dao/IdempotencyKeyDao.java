@@ -0,0 +1,81 @@
+package ru.project.quiz.dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stored responses of idempotent requests, see {@code V5__idempotency_key.sql} and
+ * {@code V9__idempotency_request_hash.sql}.
+ */
+@Repository
+public class IdempotencyKeyDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<IdempotencyRecord> find(String key) {
+        List<IdempotencyRecord> records = jdbcTemplate.query(
+                "SELECT request_hash, response FROM idempotency_key WHERE idempotency_key = ?",
+                (rs, rowNum) -> new IdempotencyRecord(rs.getString("request_hash"), rs.getString("response")), key);
+        return records.stream().findFirst();
+    }
+
+    /**
+     * Marks the key as running on this node. A running mark older than {@code staleBefore} is left by a node
+     * that died and is taken over.
+     *
+     * @return false if the key is already running elsewhere or has a response
+     */
+    public boolean claim(String key, String requestHash, LocalDateTime staleBefore) {
+        return jdbcTemplate.update("INSERT INTO idempotency_key (idempotency_key, request_hash) VALUES (?, ?) " +
+                        "ON CONFLICT (idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, created_at = now() " +
+                        "WHERE idempotency_key.response IS NULL AND idempotency_key.created_at < ?",
+                key, requestHash, Timestamp.valueOf(staleBefore)) == 1;
+    }
+
+    public void saveResponse(String key, String requestHash, String response) {
+        jdbcTemplate.update("INSERT INTO idempotency_key (idempotency_key, request_hash, response) VALUES (?, ?, ?) " +
+                        "ON CONFLICT (idempotency_key) DO UPDATE SET response = EXCLUDED.response WHERE idempotency_key.response IS NULL",
+                key, requestHash, response);
+    }
+
+    /**
+     * Drops the running mark of a failed request, so it can be retried with the same key.
+     */
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND response IS NULL", key);
+    }
+
+    public int deleteCreatedBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM idempotency_key WHERE created_at < ?", Timestamp.valueOf(before));
+    }
+
+    public static class IdempotencyRecord {
+        private final String requestHash;
+        private final String response;
+
+        public IdempotencyRecord(String requestHash, String response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+
+        public String getRequestHash() {
+            return requestHash;
+        }
+
+        /**
+         * @return null while the request is still running
+         */
+        public String getResponse() {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.project.quiz.dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Used practice tokens, see {@code V7__practice_token.sql}.
+ */
+@Repository
+public class PracticeTokenDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PracticeTokenDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return false if the token was already used
+     */
+    public boolean markUsed(long nonce, LocalDateTime expiresAt) {
+        return jdbcTemplate.update("INSERT INTO practice_token (nonce, expires_at) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                nonce, Timestamp.valueOf(expiresAt)) == 1;
+    }
+
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update("DELETE FROM practice_token WHERE expires_at < ?", Timestamp.valueOf(now));
+    }
+}
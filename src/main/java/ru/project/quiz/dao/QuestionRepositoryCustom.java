@@ -2,8 +2,11 @@ package ru.project.quiz.dao;
 
 import ru.project.quiz.domain.entity.quiz.Question;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface QuestionRepositoryCustom {
     Optional<Question> getRandomQuestion();
+
+    List<Question> getRandomQuestionsByCategories(int limit, List<String> categories);
 }
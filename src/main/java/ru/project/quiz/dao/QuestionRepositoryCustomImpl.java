@@ -1,28 +1,43 @@
 package ru.project.quiz.dao;
 
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
+import ru.project.quiz.catalog.QuestionCatalog;
 import ru.project.quiz.domain.entity.quiz.Question;
+import ru.project.quiz.domain.enums.question.CategoryType;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
 public class QuestionRepositoryCustomImpl implements QuestionRepositoryCustom {
 
     private final EntityManager em;
+    private final QuestionCatalog questionCatalog;
 
-    public QuestionRepositoryCustomImpl(EntityManager em) {
+    public QuestionRepositoryCustomImpl(EntityManager em, QuestionCatalog questionCatalog) {
         this.em = em;
+        this.questionCatalog = questionCatalog;
     }
 
     @Override
     /* @Query(value = "SELECT * FROM Questions ORDER BY RANDOM() LIMIT 1", nativeQuery = true)*/
     public Optional<Question> getRandomQuestion() {
+        List<Long> catalogIds = questionCatalog.randomIds(1, categoryNames());
+        if (!catalogIds.isEmpty()) {
+            Question question = em.find(Question.class, catalogIds.get(0));
+            if (question != null) {
+                return Optional.of(question);
+            }
+        }
         CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
 
         CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
@@ -42,4 +57,35 @@ public class QuestionRepositoryCustomImpl implements QuestionRepositoryCustom {
         return Optional.ofNullable(em.createQuery(questionQuery).getSingleResult());
     }
 
+    /**
+     * Picks the ids from the question catalog and loads them by id, so the entities come from the
+     * second-level cache. Falls back to a random scan when the catalog is off or out of date.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Question> getRandomQuestionsByCategories(int limit, List<String> categories) {
+        List<Long> ids = questionCatalog.randomIds(limit, categories);
+        if (!ids.isEmpty()) {
+            List<Question> questions = em.unwrap(Session.class)
+                    .byMultipleIds(Question.class)
+                    .multiLoad(ids)
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .filter(question -> question.getCategoryType() != null
+                            && categories.contains(question.getCategoryType().name()))
+                    .collect(Collectors.toList());
+            if (questions.size() == ids.size()) {
+                return questions;
+            }
+        }
+        return em.createNativeQuery("SELECT * FROM Questions WHERE category_type IN (:category) ORDER BY RANDOM() LIMIT :limit", Question.class)
+                .setParameter("category", categories)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    private static List<String> categoryNames() {
+        return Arrays.stream(CategoryType.values()).map(Enum::name).collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,127 @@
+package ru.project.quiz.dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Low-level access to the partitioned quiz tables. Everything here is PostgreSQL specific
+ * and is only used by the archiver and the partition maintenance job.
+ */
+@Repository
+public class QuizPartitionDao {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public QuizPartitionDao(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    public boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                        "JOIN pg_class c ON c.oid = pt.partrelid " +
+                        "WHERE c.relname = ? AND pg_table_is_visible(c.oid))",
+                Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    public List<String> findPartitions(String parent) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? ORDER BY c.relname",
+                String.class, parent);
+    }
+
+    public void createMonthPartition(String parent, YearMonth month) {
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                QuizPartitions.monthPartitionName(parent, month),
+                parent,
+                QuizPartitions.lowerBound(month),
+                QuizPartitions.upperBound(month)));
+    }
+
+    public void createYearPartition(String parent, int year) {
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%d-01-01') TO ('%d-01-01')",
+                QuizPartitions.yearPartitionName(parent, year), parent, year, year + 1));
+    }
+
+    public boolean isEmpty(String table) {
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+        return Boolean.TRUE.equals(empty);
+    }
+
+    public void dropTable(String table) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+    }
+
+    public List<Long> findQuizIds(String status, LocalDateTime before, int limit) {
+        return namedJdbcTemplate.queryForList(
+                "SELECT id FROM quiz WHERE quiz_status = :status AND created_at < :before ORDER BY created_at LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("status", status)
+                        .addValue("before", before)
+                        .addValue("limit", limit),
+                Long.class);
+    }
+
+    public List<Integer> findQuizYears(List<Long> ids) {
+        return namedJdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(EXTRACT(YEAR FROM created_at) AS INTEGER) FROM quiz WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                Integer.class);
+    }
+
+    /**
+     * Copies quizzes into {@code quiz_archive}, folding their {@code questions_quiz} rows into two arrays.
+     */
+    public int copyToArchive(List<Long> ids, LocalDateTime before) {
+        return namedJdbcTemplate.update(
+                "INSERT INTO quiz_archive (id, created_at, finished_at, user_id, quiz_sample_id, score, question_ids, user_choices) " +
+                        "SELECT q.id, q.created_at, q.updated_at, q.user_id, q.quiz_sample_name, q.score, " +
+                        "ARRAY(SELECT qq.question_id FROM questions_quiz qq WHERE qq.quiz_id = q.id ORDER BY qq.id), " +
+                        "ARRAY(SELECT qq.ituser_choice FROM questions_quiz qq WHERE qq.quiz_id = q.id ORDER BY qq.id) " +
+                        "FROM quiz q WHERE q.id IN (:ids) AND q.created_at < :before " +
+                        "ON CONFLICT DO NOTHING",
+                new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("before", before));
+    }
+
+    /**
+     * Deletes the quizzes that still have the given status, and the questions of exactly those quizzes.
+     * A quiz finished after {@link #findQuizIds} selected it keeps its rows. Both deletes run in one
+     * statement, so the foreign key of an unpartitioned {@code questions_quiz} is checked after both.
+     * Questions of a quiz are inserted in the same flush as the quiz itself, so one extra day
+     * on the cutoff is enough to keep the delete inside the pruned partitions.
+     */
+    public int deleteQuizzes(List<Long> ids, String status, LocalDateTime before) {
+        Integer deleted = namedJdbcTemplate.queryForObject(
+                "WITH removed AS (" +
+                        "DELETE FROM quiz WHERE id IN (:ids) AND quiz_status = :status AND created_at < :before RETURNING id), " +
+                        "removed_questions AS (" +
+                        "DELETE FROM questions_quiz WHERE quiz_id IN (SELECT id FROM removed) AND created_at < :questionsBefore) " +
+                        "SELECT count(*) FROM removed",
+                new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("status", status)
+                        .addValue("before", before)
+                        .addValue("questionsBefore", before.plusDays(1)),
+                Integer.class);
+        return deleted == null ? 0 : deleted;
+    }
+}
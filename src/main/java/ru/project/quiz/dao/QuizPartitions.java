@@ -0,0 +1,51 @@
+package ru.project.quiz.dao;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Naming convention for the monthly partitions of {@code quiz}/{@code questions_quiz}
+ * and the yearly partitions of {@code quiz_archive}: {@code quiz_p2026_10}, {@code quiz_archive_y2026}.
+ */
+public final class QuizPartitions {
+
+    public static final String QUIZ_TABLE = "quiz";
+    public static final String QUESTIONS_QUIZ_TABLE = "questions_quiz";
+    public static final String ARCHIVE_TABLE = "quiz_archive";
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private QuizPartitions() {
+    }
+
+    public static String monthPartitionName(String parent, YearMonth month) {
+        return parent + "_p" + month.format(MONTH_SUFFIX);
+    }
+
+    public static String yearPartitionName(String parent, int year) {
+        return parent + "_y" + year;
+    }
+
+    public static Optional<YearMonth> parseMonth(String parent, String partitionName) {
+        String prefix = parent + "_p";
+        if (!partitionName.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(prefix.length()), MONTH_SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static LocalDate lowerBound(YearMonth month) {
+        return month.atDay(1);
+    }
+
+    public static LocalDate upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.project.quiz.dao;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface QuizRepositoryCustom {
+    /**
+     * Moves the quiz from CREATED to FINISHED and stores the user's choices, unless another request did it first.
+     *
+     * @param expectedVersion version the client got with the quiz, or null to take the current one
+     * @param userChoices     answer ids by questions_quiz id
+     * @return new version, or empty if the quiz is not CREATED or its version has changed
+     */
+    Optional<Long> finishQuiz(long quizId, Long expectedVersion, long score, Map<Long, Long> userChoices);
+}
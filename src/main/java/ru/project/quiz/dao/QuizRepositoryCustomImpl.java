@@ -0,0 +1,56 @@
+package ru.project.quiz.dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Finishing is a single conditional UPDATE: of concurrent finishes of one quiz the database lets exactly one
+ * match {@code quiz_status = 'CREATED' AND version = ?}, the others update nothing. No row is locked in advance.
+ */
+@Repository
+public class QuizRepositoryCustomImpl implements QuizRepositoryCustom {
+    private static final String FIND_VERSION = "SELECT version FROM quiz WHERE id = ?";
+    private static final String FINISH = "UPDATE quiz SET quiz_status = 'FINISHED', score = ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND quiz_status = 'CREATED' AND version = ?";
+    private static final String SAVE_CHOICE = "UPDATE questions_quiz SET ituser_choice = ?, updated_at = ? WHERE id = ? AND quiz_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public QuizRepositoryCustomImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<Long> finishQuiz(long quizId, Long expectedVersion, long score, Map<Long, Long> userChoices) {
+        return transactionTemplate.execute(status -> {
+            Long version = expectedVersion;
+            if (version == null) {
+                List<Long> versions = jdbcTemplate.queryForList(FIND_VERSION, Long.class, quizId);
+                if (versions.isEmpty()) {
+                    return Optional.empty();
+                }
+                version = versions.get(0);
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            if (jdbcTemplate.update(FINISH, score, now, quizId, version) == 0) {
+                return Optional.empty();
+            }
+            List<Object[]> choices = userChoices.entrySet().stream()
+                    .map(choice -> new Object[]{choice.getValue(), now, choice.getKey(), quizId})
+                    .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate(SAVE_CHOICE, choices);
+            return Optional.of(version + 1);
+        });
+    }
+}
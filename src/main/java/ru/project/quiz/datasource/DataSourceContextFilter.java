@@ -0,0 +1,32 @@
+package ru.project.quiz.datasource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Forgets the request's data source choice when it ends, so a write does not pin the next request
+ * served by the same thread to the primary.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 25)
+@ConditionalOnProperty(name = "quiz.datasource.replica.enabled", havingValue = "true")
+public class DataSourceContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceContextHolder.clear();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.project.quiz.datasource;
+
+/**
+ * Connection pool chosen for the current thread, read by {@link RoutingDataSource}.
+ */
+public final class DataSourceContextHolder {
+    private static final ThreadLocal<DataSourceType> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> STUCK_TO_PRIMARY = new ThreadLocal<>();
+
+    private DataSourceContextHolder() {
+    }
+
+    public static DataSourceType get() {
+        DataSourceType type = CURRENT.get();
+        return type == null ? DataSourceType.PRIMARY : type;
+    }
+
+    public static void set(DataSourceType type) {
+        CURRENT.set(type);
+    }
+
+    /**
+     * Sends the rest of the request's reads to the primary, so it reads its own writes
+     * whatever the replica lag is.
+     */
+    public static void stickToPrimary() {
+        STUCK_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isStuckToPrimary() {
+        return STUCK_TO_PRIMARY.get() != null;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+        STUCK_TO_PRIMARY.remove();
+    }
+}
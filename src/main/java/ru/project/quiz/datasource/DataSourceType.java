@@ -0,0 +1,7 @@
+package ru.project.quiz.datasource;
+
+public enum DataSourceType {
+    PRIMARY,
+    ADMIN,
+    REPLICA
+}
@@ -0,0 +1,27 @@
+package ru.project.quiz.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+import java.sql.Connection;
+
+/**
+ * {@link RoutingDataSource} behind a lazy connection proxy, which closes the pools with the context.
+ */
+public class LazyRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final RoutingDataSource routingDataSource;
+
+    public LazyRoutingDataSource(RoutingDataSource routingDataSource) {
+        routingDataSource.afterPropertiesSet();
+        this.routingDataSource = routingDataSource;
+        setTargetDataSource(routingDataSource);
+        setDefaultAutoCommit(true);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() {
+        routingDataSource.close();
+    }
+}
@@ -0,0 +1,61 @@
+package ru.project.quiz.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Tracks how far the replica is behind the primary. Reads go to the replica only while the lag is
+ * within the tolerance; an unreachable replica or one not checked yet counts as lagging.
+ */
+public class ReplicaLagMonitor {
+    //an idle primary sends no new transactions, so a replica that replayed everything it received is not behind
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    private static final long UNKNOWN = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxLagMillis;
+    private volatile long lagMillis = UNKNOWN;
+
+    Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    public ReplicaLagMonitor(DataSource replica, long maxLagMillis) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public void check() {
+        try {
+            Number lag = jdbcTemplate.queryForObject(LAG_QUERY, Number.class);
+            update(lag == null ? UNKNOWN : lag.longValue());
+        } catch (RuntimeException e) {
+            if (lagMillis != UNKNOWN) {
+                log.warn("Реплика недоступна, чтение переключено на основную базу", e);
+            }
+            lagMillis = UNKNOWN;
+        }
+    }
+
+    public void update(long lagMillis) {
+        boolean wasUsable = isUsable();
+        this.lagMillis = lagMillis;
+        if (wasUsable && !isUsable()) {
+            log.warn("Отставание реплики {} мс превышает допустимое {} мс, чтение переключено на основную базу", lagMillis, maxLagMillis);
+        } else if (!wasUsable && isUsable()) {
+            log.info("Реплика догнала основную базу, чтение возвращено на реплику");
+        }
+    }
+
+    public boolean isUsable() {
+        long lag = lagMillis;
+        return lag != UNKNOWN && lag <= maxLagMillis;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
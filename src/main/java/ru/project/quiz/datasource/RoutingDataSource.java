@@ -0,0 +1,66 @@
+package ru.project.quiz.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool selected by {@link DataSourceContextHolder}. The pools are owned
+ * here and closed with the context.
+ * <p>
+ * With a replica, read-only transactions on the primary pool read from the replica unless it lags or the
+ * thread has already written. The decision needs the transaction flags, so this data source has to be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before it marks the transaction read-only.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private final Map<DataSourceType, HikariDataSource> pools;
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public RoutingDataSource(Map<DataSourceType, HikariDataSource> pools) {
+        this(pools, null);
+    }
+
+    public RoutingDataSource(Map<DataSourceType, HikariDataSource> pools, ReplicaLagMonitor replicaLagMonitor) {
+        this.pools = new EnumMap<>(pools);
+        this.replicaLagMonitor = pools.containsKey(DataSourceType.REPLICA) ? replicaLagMonitor : null;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(DataSourceType.PRIMARY));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceType type = DataSourceContextHolder.get();
+        if (type != DataSourceType.PRIMARY || replicaLagMonitor == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return type;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            DataSourceContextHolder.stickToPrimary();
+            return DataSourceType.PRIMARY;
+        }
+        if (DataSourceContextHolder.isStuckToPrimary() || !replicaLagMonitor.isUsable()) {
+            return DataSourceType.PRIMARY;
+        }
+        return DataSourceType.REPLICA;
+    }
+
+    public Collection<HikariDataSource> getPools() {
+        return pools.values();
+    }
+
+    public ReplicaLagMonitor getReplicaLagMonitor() {
+        return replicaLagMonitor;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
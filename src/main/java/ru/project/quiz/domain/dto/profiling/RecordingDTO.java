@@ -0,0 +1,49 @@
+package ru.project.quiz.domain.dto.profiling;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Запись Java Flight Recorder")
+public class RecordingDTO {
+
+    @Schema(description = "Файл, в который будет сохранена запись")
+    private String file;
+
+    @Schema(description = "Длительность записи в секундах")
+    private long durationSeconds;
+
+    @Schema(description = "Состояние записи")
+    private String state;
+
+    public RecordingDTO(String file, long durationSeconds, String state) {
+        this.file = file;
+        this.durationSeconds = durationSeconds;
+        this.state = state;
+    }
+
+    public RecordingDTO() {
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+}
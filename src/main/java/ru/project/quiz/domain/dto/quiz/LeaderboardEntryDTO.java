@@ -0,0 +1,49 @@
+package ru.project.quiz.domain.dto.quiz;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Строка таблицы лидеров")
+public class LeaderboardEntryDTO {
+
+    @Schema(description = "Имя пользователя")
+    private String username;
+
+    @Schema(description = "Сумма баллов за период")
+    private Long totalScore;
+
+    @Schema(description = "Количество завершенных тестов за период")
+    private Long quizCount;
+
+    public LeaderboardEntryDTO(String username, Long totalScore, Long quizCount) {
+        this.username = username;
+        this.totalScore = totalScore;
+        this.quizCount = quizCount;
+    }
+
+    public LeaderboardEntryDTO() {
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(Long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public Long getQuizCount() {
+        return quizCount;
+    }
+
+    public void setQuizCount(Long quizCount) {
+        this.quizCount = quizCount;
+    }
+}
@@ -18,6 +18,10 @@ public class QuizDTO {
 
     private Long score;
 
+    private Long version;
+
+    private String practiceToken;
+
     public QuizDTO(String description, String name, List<QuestionQuizDTO> questions, QuizStatus quizStatus, Long score) {
         this.description = description;
         this.name = name;
@@ -76,4 +80,20 @@ public class QuizDTO {
     public void setScore(Long score) {
         this.score = score;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getPracticeToken() {
+        return practiceToken;
+    }
+
+    public void setPracticeToken(String practiceToken) {
+        this.practiceToken = practiceToken;
+    }
 }
@@ -0,0 +1,33 @@
+package ru.project.quiz.domain.dto.quiz;
+
+import java.util.List;
+
+/**
+ * Immutable view of a sample that is safe to share between request threads.
+ */
+public class QuizSampleCategoriesDTO {
+
+    private final long id;
+
+    private final String name;
+
+    private final List<String> categories;
+
+    public QuizSampleCategoriesDTO(long id, String name, List<String> categories) {
+        this.id = id;
+        this.name = name;
+        this.categories = List.copyOf(categories);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.project.quiz.domain.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Статистика региона кэша второго уровня")
+public class CacheRegionStatisticsDTO {
+
+    @Schema(description = "Регион")
+    private String region;
+
+    @Schema(description = "Попадания")
+    private long hitCount;
+
+    @Schema(description = "Промахи")
+    private long missCount;
+
+    @Schema(description = "Записи в кэш")
+    private long putCount;
+
+    @Schema(description = "Вытеснения")
+    private long evictionCount;
+
+    public CacheRegionStatisticsDTO(String region, long hitCount, long missCount, long putCount, long evictionCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public CacheRegionStatisticsDTO() {
+    }
+
+    @Schema(description = "Доля попаданий")
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+}
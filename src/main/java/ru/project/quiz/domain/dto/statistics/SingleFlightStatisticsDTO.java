@@ -0,0 +1,85 @@
+package ru.project.quiz.domain.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Статистика объединения одновременных загрузок")
+public class SingleFlightStatisticsDTO {
+
+    @Schema(description = "Имя")
+    private String name;
+
+    @Schema(description = "Всего вызовов")
+    private long calls;
+
+    @Schema(description = "Фактических загрузок")
+    private long executions;
+
+    @Schema(description = "Вызовов, получивших чужой результат")
+    private long sharedCalls;
+
+    @Schema(description = "Таймауты ожидания")
+    private long timeouts;
+
+    @Schema(description = "Доля объединенных вызовов")
+    private double coalescingRatio;
+
+    public SingleFlightStatisticsDTO(String name, long calls, long executions, long sharedCalls, long timeouts, double coalescingRatio) {
+        this.name = name;
+        this.calls = calls;
+        this.executions = executions;
+        this.sharedCalls = sharedCalls;
+        this.timeouts = timeouts;
+        this.coalescingRatio = coalescingRatio;
+    }
+
+    public SingleFlightStatisticsDTO() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    public void setExecutions(long executions) {
+        this.executions = executions;
+    }
+
+    public long getSharedCalls() {
+        return sharedCalls;
+    }
+
+    public void setSharedCalls(long sharedCalls) {
+        this.sharedCalls = sharedCalls;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public double getCoalescingRatio() {
+        return coalescingRatio;
+    }
+
+    public void setCoalescingRatio(double coalescingRatio) {
+        this.coalescingRatio = coalescingRatio;
+    }
+}
@@ -1,5 +1,7 @@
 package ru.project.quiz.domain.entity.ituser;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.project.quiz.domain.enums.ituser.PermissionType;
 
 import javax.persistence.*;
@@ -7,6 +9,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "user.role")
 public class Role {
     @Id
     @Column(name = "name")
@@ -19,6 +23,7 @@ public class Role {
     )
     @Column(name = "permission")
     @Enumerated(EnumType.STRING)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "user.role.permissions")
     private Set<PermissionType> permissions;
 
     @ManyToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "roles")
@@ -1,5 +1,7 @@
 package ru.project.quiz.domain.entity.quiz;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.project.quiz.domain.entity.BaseEntity;
 
 import javax.persistence.*;
@@ -8,6 +10,8 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "answers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz.answer")
 public class Answer extends BaseEntity {
 
     @Column(name = "name")
@@ -1,5 +1,7 @@
 package ru.project.quiz.domain.entity.quiz;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.project.quiz.domain.entity.BaseEntity;
 import ru.project.quiz.domain.enums.question.CategoryType;
 
@@ -8,6 +10,8 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "quiz.category")
 public class Category extends BaseEntity {
 
     @Enumerated(EnumType.STRING)
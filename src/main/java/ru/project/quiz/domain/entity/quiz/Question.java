@@ -1,5 +1,7 @@
 package ru.project.quiz.domain.entity.quiz;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.project.quiz.domain.entity.BaseEntity;
 import ru.project.quiz.domain.enums.question.CategoryType;
 import ru.project.quiz.domain.enums.question.DifficultyType;
@@ -10,6 +12,8 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "questions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz.question")
 public class Question extends BaseEntity {
 
     @Column(name = "name")
@@ -31,6 +35,7 @@ public class Question extends BaseEntity {
 
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumn(name = "question_id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz.question.answers")
     private List<Answer> answers;
 
     public Question(String name, String description, String imageUrl, DifficultyType difficultyType, CategoryType categoryType, List<Answer> answers) {
@@ -32,6 +32,10 @@ public class Quiz extends BaseEntity {
     @Column(name = "score")
     private Long score;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Quiz(QuizSample quizSample, ITUser itUser, List<QuestionQuiz> questions, QuizStatus quizStatus, Long score) {
         this.quizSample = quizSample;
         this.itUser = itUser;
@@ -103,4 +107,12 @@ public class Quiz extends BaseEntity {
     public void setScore(Long score) {
         this.score = score;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -1,5 +1,7 @@
 package ru.project.quiz.domain.entity.quiz;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.project.quiz.domain.entity.BaseEntity;
 
 import javax.persistence.*;
@@ -7,6 +9,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "quiz_sample")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz.sample")
 public class QuizSample extends BaseEntity {
 
     @OneToMany(mappedBy = "quizSample")
@@ -17,6 +21,7 @@ public class QuizSample extends BaseEntity {
 
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumn(name = "quiz_sample_id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz.sample.categories")
     private List<Category> categories;
 
     public QuizSample(List<Quiz> quizes, String name, List<Category> categories) {
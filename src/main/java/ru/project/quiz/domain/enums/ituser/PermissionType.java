@@ -5,5 +5,6 @@ public enum PermissionType {
     GENERATE_TESTS,
     ADD_NEW_QUESTIONS,
     DELETE_QUESTIONS,
-    ADD_ROLES_TO_USERS
+    ADD_ROLES_TO_USERS,
+    READ_METRICS
 }
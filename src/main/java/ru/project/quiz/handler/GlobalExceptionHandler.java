@@ -1,9 +1,13 @@
 package ru.project.quiz.handler;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import ru.project.quiz.handler.exception.*;
 import ru.project.quiz.handler.response.Response;
 
@@ -11,6 +15,8 @@ import javax.validation.ConstraintViolationException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private final static String serverBusy = "Сервер перегружен, повторите запрос позже";
+
     public GlobalExceptionHandler() {
         super();
     }
@@ -25,8 +31,54 @@ public class GlobalExceptionHandler {
             ConstraintViolationException.class,
             QuestionCreationException.class,
             QuizNotFoundException.class,
+            BadPeriodException.class,
+            IdempotencyKeyException.class,
+            PracticeTokenException.class,
             RuntimeException.class})
     public ResponseEntity<Response> handleException(RuntimeException e) {
         return new ResponseEntity<>(new Response(e.getMessage()), HttpStatus.BAD_REQUEST);
     }
-}
+
+    @ExceptionHandler(SingleFlightTimeoutException.class)
+    public ResponseEntity<Response> handleTimeoutException(RuntimeException e) {
+        return new ResponseEntity<>(new Response(e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler({
+            AsyncRequestTimeoutException.class,
+            TaskRejectedException.class})
+    public ResponseEntity<Response> handleBusyException(RuntimeException e) {
+        return new ResponseEntity<>(new Response(serverBusy), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler({
+            QuizAlreadyFinishedException.class,
+            IdempotencyKeyInProgressException.class,
+            ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<Response> handleConflictException(RuntimeException e) {
+        return new ResponseEntity<>(new Response(e.getMessage()), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Response> handleUnprocessableException(RuntimeException e) {
+        return new ResponseEntity<>(new Response(e.getMessage()), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    public ResponseEntity<Response> handleSqlBudgetException(RuntimeException e) {
+        return new ResponseEntity<>(new Response(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @ExceptionHandler(RecordingException.class)
+    public ResponseEntity<Response> handleRecordingException(RecordingException e) {
+        return new ResponseEntity<>(new Response(e.getMessage()), e.getStatus());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Response> handleRateLimitException(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .header("X-RateLimit-Reset", String.valueOf(e.getResetEpochSeconds()))
+                .body(new Response(e.getMessage()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class BadPeriodException extends RuntimeException{
+    public BadPeriodException(String message) {
+        super(message);
+    }
+}
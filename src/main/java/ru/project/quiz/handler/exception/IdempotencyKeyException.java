@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class IdempotencyKeyException extends RuntimeException{
+    public IdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException{
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
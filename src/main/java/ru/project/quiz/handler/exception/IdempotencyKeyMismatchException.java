@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException{
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
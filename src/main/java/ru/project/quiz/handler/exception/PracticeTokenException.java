@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class PracticeTokenException extends RuntimeException{
+    public PracticeTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class QuizAlreadyFinishedException extends RuntimeException{
+    public QuizAlreadyFinishedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.project.quiz.handler.exception;
+
+public class RateLimitExceededException extends RuntimeException{
+    private final long retryAfterSeconds;
+    private final long resetEpochSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds, long resetEpochSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.resetEpochSeconds = resetEpochSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public long getResetEpochSeconds() {
+        return resetEpochSeconds;
+    }
+}
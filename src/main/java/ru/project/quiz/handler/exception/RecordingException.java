@@ -0,0 +1,16 @@
+package ru.project.quiz.handler.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class RecordingException extends RuntimeException{
+    private final HttpStatus status;
+
+    public RecordingException(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class SingleFlightTimeoutException extends RuntimeException{
+    public SingleFlightTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.project.quiz.handler.exception;
+
+public class SqlBudgetExceededException extends RuntimeException{
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
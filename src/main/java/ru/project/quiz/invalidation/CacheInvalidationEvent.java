@@ -0,0 +1,51 @@
+package ru.project.quiz.invalidation;
+
+/**
+ * Payload of a NOTIFY on {@link CacheInvalidationPublisher#CHANNEL}, as JSON.
+ */
+public class CacheInvalidationEvent {
+    private CachedEntityType type;
+    private String id;
+    /**
+     * Node that made the change; it has already updated its own cache.
+     */
+    private String origin;
+
+    public CacheInvalidationEvent(CachedEntityType type, String id, String origin) {
+        this.type = type;
+        this.id = id;
+        this.origin = origin;
+    }
+
+    public CacheInvalidationEvent() {
+    }
+
+    public CachedEntityType getType() {
+        return type;
+    }
+
+    public void setType(CachedEntityType type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + id;
+    }
+}
@@ -0,0 +1,125 @@
+package ru.project.quiz.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * LISTENs for {@link CacheInvalidationEvent}s of other nodes on one connection of its own, outside the pool,
+ * and evicts the changed entities locally. Notifications sent while the connection was down are lost,
+ * so after a reconnect the whole second-level cache is dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.cache-invalidation.enabled", havingValue = "true")
+public class CacheInvalidationListener {
+    private final DataSourceProperties dataSourceProperties;
+    private final LocalCacheEvictor localCacheEvictor;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    private final ObjectMapper objectMapper;
+    private volatile boolean running;
+    private Thread thread;
+
+    @Value("${quiz.cache-invalidation.poll-ms:10000}")
+    private int pollMillis;
+    @Value("${quiz.cache-invalidation.reconnect-ms:5000}")
+    private long reconnectMillis;
+
+    Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    public CacheInvalidationListener(DataSourceProperties dataSourceProperties, LocalCacheEvictor localCacheEvictor,
+                                     CacheInvalidationPublisher cacheInvalidationPublisher, ObjectMapper objectMapper) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.localCacheEvictor = localCacheEvictor;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CacheInvalidationPublisher.CHANNEL);
+                }
+                if (reconnect) {
+                    localCacheEvictor.evictAll();
+                    log.warn("Соединение для инвалидации кэша восстановлено, кэш второго уровня сброшен");
+                }
+                reconnect = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        //a quiet connection may be dead without an error, check it between waits
+                        if (!connection.isValid(pollMillis / 1000 + 1)) {
+                            throw new SQLException("Connection is not valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Потеряно соединение для инвалидации кэша, повтор через {} мс", reconnectMillis, e);
+                    sleep();
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        try {
+            CacheInvalidationEvent event = objectMapper.readValue(payload, CacheInvalidationEvent.class);
+            if (cacheInvalidationPublisher.getOrigin().equals(event.getOrigin())) {
+                return;
+            }
+            localCacheEvictor.evict(event);
+            log.debug("Кэш инвалидирован по событию {}", event);
+        } catch (IOException | RuntimeException e) {
+            log.error("Некорректное событие инвалидации кэша {}, кэш сброшен", payload, e);
+            localCacheEvictor.evictAll();
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(reconnectMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
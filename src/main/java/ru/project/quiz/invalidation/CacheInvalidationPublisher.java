@@ -0,0 +1,52 @@
+package ru.project.quiz.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Tells the other nodes that an entity changed, through PostgreSQL NOTIFY. Called after the change; inside
+ * a transaction the notification is sent by PostgreSQL when it commits and dropped on rollback. A failed
+ * notification is only logged, the listeners resync after they lose their connection.
+ */
+@Component
+public class CacheInvalidationPublisher {
+    public static final String CHANNEL = "quiz_cache_invalidation";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String origin = UUID.randomUUID().toString();
+
+    @Value("${quiz.cache-invalidation.enabled:false}")
+    private boolean enabled;
+
+    Logger log = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void publish(CachedEntityType type, Object id) {
+        if (!enabled) {
+            return;
+        }
+        CacheInvalidationEvent event = new CacheInvalidationEvent(type, String.valueOf(id), origin);
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, objectMapper.writeValueAsString(event));
+            log.debug("Отправлено событие инвалидации кэша {}", event);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Не удалось отправить событие инвалидации кэша {}", event, e);
+        }
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+}
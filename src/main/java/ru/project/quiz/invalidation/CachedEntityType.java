@@ -0,0 +1,10 @@
+package ru.project.quiz.invalidation;
+
+/**
+ * Entities kept in the second-level cache that admins can change at runtime.
+ */
+public enum CachedEntityType {
+    QUESTION,
+    QUIZ_SAMPLE,
+    ROLE
+}
@@ -0,0 +1,54 @@
+package ru.project.quiz.invalidation;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import ru.project.quiz.domain.entity.ituser.Role;
+import ru.project.quiz.domain.entity.quiz.Answer;
+import ru.project.quiz.domain.entity.quiz.Category;
+import ru.project.quiz.domain.entity.quiz.Question;
+import ru.project.quiz.domain.entity.quiz.QuizSample;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Drops second-level cache entries of a changed entity; the next read loads them from the database.
+ * Cached query results are dropped as a whole, they can not be matched to an entity.
+ */
+@Component
+public class LocalCacheEvictor {
+    private final Cache cache;
+
+    public LocalCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    public void evict(CacheInvalidationEvent event) {
+        switch (event.getType()) {
+            case QUESTION:
+                long questionId = Long.parseLong(event.getId());
+                cache.evictEntityData(Question.class, questionId);
+                cache.evictCollectionData(Question.class.getName() + ".answers", questionId);
+                cache.evictEntityData(Answer.class);
+                break;
+            case QUIZ_SAMPLE:
+                long sampleId = Long.parseLong(event.getId());
+                cache.evictEntityData(QuizSample.class, sampleId);
+                cache.evictCollectionData(QuizSample.class.getName() + ".categories", sampleId);
+                cache.evictEntityData(Category.class);
+                cache.evictQueryRegions();
+                break;
+            case ROLE:
+                cache.evictEntityData(Role.class, event.getId());
+                cache.evictCollectionData(Role.class.getName() + ".permissions", event.getId());
+                cache.evictQueryRegions();
+                break;
+            default:
+                evictAll();
+        }
+    }
+
+    public void evictAll() {
+        cache.evictAllRegions();
+    }
+}
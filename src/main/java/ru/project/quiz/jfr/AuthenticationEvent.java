@@ -0,0 +1,31 @@
+package ru.project.quiz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("ru.project.quiz.Authentication")
+@Label("JWT Authentication")
+@Description("Проверка JWT токена в JwtRequestFilter")
+@Category({"Quiz", "Security"})
+@StackTrace(false)
+public class AuthenticationEvent extends jdk.jfr.Event {
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Cache Hit")
+    @Description("Пользователь взят из кэша, без обращения к базе")
+    public boolean cacheHit;
+
+    @Label("Verify Time")
+    @Description("Разбор подписи и проверка срока действия токена")
+    @Timespan(Timespan.NANOSECONDS)
+    public long verifyTime;
+
+    @Label("User Lookup Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long userLookupTime;
+}
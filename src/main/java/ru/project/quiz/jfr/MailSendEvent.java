@@ -0,0 +1,20 @@
+package ru.project.quiz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ru.project.quiz.MailSend")
+@Label("Mail Send")
+@Description("Отправка письма через SMTP")
+@Category({"Quiz", "Mail"})
+@StackTrace(false)
+public class MailSendEvent extends jdk.jfr.Event {
+    @Label("Subject")
+    public String subject;
+
+    @Label("Outcome")
+    public String outcome;
+}
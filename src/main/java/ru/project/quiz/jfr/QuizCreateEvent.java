@@ -0,0 +1,31 @@
+package ru.project.quiz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("ru.project.quiz.QuizCreate")
+@Label("Quiz Create")
+@Description("Создание теста")
+@Category({"Quiz", "Service"})
+@StackTrace(false)
+public class QuizCreateEvent extends jdk.jfr.Event {
+    @Label("Sample Name")
+    public String sampleName;
+
+    @Label("Requested Questions")
+    public int requestedQuestions;
+
+    @Label("Returned Questions")
+    public int returnedQuestions;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,31 @@
+package ru.project.quiz.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("ru.project.quiz.QuizFinish")
+@Label("Quiz Finish")
+@Description("Проверка и сохранение решенного теста")
+@Category({"Quiz", "Service"})
+@StackTrace(false)
+public class QuizFinishEvent extends jdk.jfr.Event {
+    @Label("Quiz Id")
+    public long quizId;
+
+    @Label("Question Count")
+    public int questionCount;
+
+    @Label("Score")
+    public long score;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    @Label("Outcome")
+    public String outcome;
+}
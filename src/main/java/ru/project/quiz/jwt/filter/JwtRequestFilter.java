@@ -1,15 +1,19 @@
 package ru.project.quiz.jwt.filter;
 
 import io.jsonwebtoken.ExpiredJwtException;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import ru.project.quiz.jfr.AuthenticationEvent;
 import ru.project.quiz.jwt.util.JwtTokenUtil;
+import ru.project.quiz.metrics.OutcomeTimer;
 import ru.project.quiz.service.ituser.ITUserService;
+import ru.project.quiz.sql.SqlStatisticsHolder;
+import ru.project.quiz.timing.RequestTimings;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -19,38 +23,85 @@ import java.io.IOException;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
-    @Autowired
-    private JwtTokenUtil jwtTokenUtil;
-    @Autowired
-    private ITUserService itUserService;
+    private static final String AUTHENTICATED = "authenticated";
+    private static final String ANONYMOUS = "anonymous";
+    private static final String INVALID = "invalid";
+    private static final String EXPIRED = "expired";
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final ITUserService itUserService;
+    private final OutcomeTimer authenticationTimer;
+
+    public JwtRequestFilter(JwtTokenUtil jwtTokenUtil, ITUserService itUserService, MeterRegistry meterRegistry) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.itUserService = itUserService;
+        this.authenticationTimer = new OutcomeTimer(meterRegistry, "jwt.filter", "Проверка JWT токена",
+                AUTHENTICATED, ANONYMOUS, INVALID, EXPIRED);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain) throws ServletException, IOException {
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        long phaseStart = RequestTimings.start();
+        long start = System.nanoTime();
+        try {
+            event.outcome = authenticate(httpServletRequest, event);
+            authenticationTimer.record(event.outcome, start);
+        } catch (RuntimeException e) {
+            event.outcome = OutcomeTimer.FAILURE;
+            authenticationTimer.recordFailure(e, start);
+            throw e;
+        } finally {
+            event.commit();
+            RequestTimings.stop(RequestTimings.JWT, phaseStart);
+        }
+        filterChain.doFilter(httpServletRequest, httpServletResponse);
+    }
+
+    private String authenticate(HttpServletRequest httpServletRequest, AuthenticationEvent event) {
         final String requestTokenHeader = httpServletRequest.getHeader("Authorization");
         String username = null;
         String jwtToken = null;
+        String outcome = ANONYMOUS;
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
+            long verifyStart = System.nanoTime();
             try {
                 username = jwtTokenUtil.getUsernameFromToken(jwtToken);
             } catch (IllegalArgumentException e) {
-                System.out.println("Unable to get JWT Token");
+                logger.warn("Не удалось прочитать JWT токен");
+                outcome = INVALID;
             } catch (ExpiredJwtException e) {
-                System.out.println("JWT Token has expired");
+                logger.debug("Срок действия JWT токена истек");
+                outcome = EXPIRED;
             }
+            event.verifyTime = System.nanoTime() - verifyStart;
         } else {
             logger.warn("JWT Token does not begin with Bearer String");
         }
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long lookupStart = System.nanoTime();
+            long phaseStart = RequestTimings.start();
+            int statementsBefore = SqlStatisticsHolder.statements();
             UserDetails userDetails = this.itUserService.loadUserByUsername(username);
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+            RequestTimings.stop(RequestTimings.USER_LOOKUP, phaseStart);
+            event.userLookupTime = System.nanoTime() - lookupStart;
+            event.cacheHit = SqlStatisticsHolder.get() != null && SqlStatisticsHolder.statements() == statementsBefore;
+            long verifyStart = System.nanoTime();
+            boolean valid = jwtTokenUtil.validateToken(jwtToken, userDetails);
+            event.verifyTime += System.nanoTime() - verifyStart;
+            if (valid) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 usernamePasswordAuthenticationToken
                         .setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
                 SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                outcome = AUTHENTICATED;
+            } else {
+                outcome = INVALID;
             }
         }
-        filterChain.doFilter(httpServletRequest, httpServletResponse);
+        return outcome;
     }
 }
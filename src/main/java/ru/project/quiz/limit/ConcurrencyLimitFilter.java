@@ -0,0 +1,142 @@
+package ru.project.quiz.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.project.quiz.handler.response.Response;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Sheds requests over the adaptive concurrency limit with 503 right away instead of letting them queue.
+ * Latency of successful requests, async ones included, feeds the limit; failed requests only free their slot.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 40)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final static String serverBusy = "Сервер перегружен, повторите запрос позже";
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter concurrencyLimiter, ConcurrencyLimitProperties properties, ObjectMapper objectMapper) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !matches(properties.getPatterns(), path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String priority = ConcurrencyLimitProperties.DEFAULT_PRIORITY;
+        double share = properties.getDefaultShare();
+        for (Map.Entry<String, ConcurrencyLimitProperties.PriorityClass> entry : properties.getPriorities().entrySet()) {
+            if (matches(entry.getValue().getPatterns(), path(request))) {
+                priority = entry.getKey();
+                share = entry.getValue().getShare();
+                break;
+            }
+        }
+        int inFlight = concurrencyLimiter.tryAcquire(priority, share);
+        if (inFlight < 0) {
+            log.debug("Запрос {} {} сброшен: достигнут лимит {}", request.getMethod(), request.getRequestURI(), concurrencyLimiter.getLimit());
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean releaseOnComplete = false;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new ReleaseListener(inFlight, start));
+                releaseOnComplete = true;
+            }
+        } finally {
+            if (!releaseOnComplete) {
+                concurrencyLimiter.release(inFlight, rtt(start, failed || response.getStatus() >= 500));
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new Response(serverBusy));
+    }
+
+    private boolean matches(Iterable<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static long rtt(long start, boolean failed) {
+        return failed ? -1 : System.nanoTime() - start;
+    }
+
+    private class ReleaseListener implements AsyncListener {
+        private final int inFlight;
+        private final long start;
+        private volatile boolean failed;
+
+        ReleaseListener(int inFlight, long start) {
+            this.inFlight = inFlight;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            concurrencyLimiter.release(inFlight, rtt(start, failed || response.getStatus() >= 500));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ru.project.quiz.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "quiz.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    public static final String DEFAULT_PRIORITY = "default";
+
+    private boolean enabled = true;
+    /**
+     * Ant patterns of the limited request paths.
+     */
+    private List<String> patterns = new ArrayList<>();
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+    /**
+     * Completed requests per limit update.
+     */
+    private int windowSize = 20;
+    /**
+     * How much slower than the long-term average the window may be before the limit shrinks.
+     */
+    private double tolerance = 1.5;
+    private double smoothing = 0.2;
+    private long retryAfterSeconds = 1;
+    /**
+     * Share of the limit for requests not matching any priority class.
+     */
+    private double defaultShare = 0.8;
+    /**
+     * Priority classes by name, a request belongs to the first class with a matching pattern.
+     */
+    private Map<String, PriorityClass> priorities = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public void setPatterns(List<String> patterns) {
+        this.patterns = patterns;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public void setRetryAfterSeconds(long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public double getDefaultShare() {
+        return defaultShare;
+    }
+
+    public void setDefaultShare(double defaultShare) {
+        this.defaultShare = defaultShare;
+    }
+
+    public Map<String, PriorityClass> getPriorities() {
+        return priorities;
+    }
+
+    public void setPriorities(Map<String, PriorityClass> priorities) {
+        this.priorities = priorities;
+    }
+
+    public static class PriorityClass {
+        private List<String> patterns = new ArrayList<>();
+        private double share = 1.0;
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public void setPatterns(List<String> patterns) {
+            this.patterns = patterns;
+        }
+
+        public double getShare() {
+            return share;
+        }
+
+        public void setShare(double share) {
+            this.share = share;
+        }
+    }
+}
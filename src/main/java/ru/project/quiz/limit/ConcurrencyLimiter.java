@@ -0,0 +1,61 @@
+package ru.project.quiz.limit;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits requests while fewer than the current {@link GradientLimit} are in flight. A priority class may
+ * use only its share of the limit, so lower classes are shed first and higher ones keep headroom.
+ */
+public class ConcurrencyLimiter {
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, LongAdder> dropped = new LinkedHashMap<>();
+
+    public ConcurrencyLimiter(GradientLimit limit, Iterable<String> priorities) {
+        this.limit = limit;
+        priorities.forEach(priority -> dropped.put(priority, new LongAdder()));
+    }
+
+    /**
+     * @return in-flight count including this request, to be passed to {@link #release}, or -1 if it was shed
+     */
+    public int tryAcquire(String priority, double share) {
+        int allowed = Math.max(1, (int) (limit.getLimit() * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                dropped.get(priority).increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos latency of the request, or a negative value if it failed and must not move the limit
+     */
+    public void release(int acquiredInFlight, long rttNanos) {
+        inFlight.decrementAndGet();
+        if (rttNanos >= 0) {
+            limit.onSample(rttNanos, acquiredInFlight);
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Map<String, LongAdder> getDropped() {
+        return Collections.unmodifiableMap(dropped);
+    }
+}
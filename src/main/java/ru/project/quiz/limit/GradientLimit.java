@@ -0,0 +1,67 @@
+package ru.project.quiz.limit;
+
+/**
+ * Concurrency limit estimated from latency, after the gradient algorithm: the average latency of a short
+ * window is compared with a long-term average, and the limit shrinks while latency grows (requests queue
+ * up somewhere) and grows by about sqrt(limit) while it stays flat.
+ */
+public class GradientLimit {
+    private static final int LONG_WINDOW = 600;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double tolerance;
+    private final double smoothing;
+
+    private volatile double estimatedLimit;
+    private double longRtt;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, int windowSize, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * @param rttNanos latency of a completed request
+     * @param inFlight requests in flight when it started
+     */
+    public synchronized void onSample(long rttNanos, int inFlight) {
+        windowRttSum += rttNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) / LONG_WINDOW;
+        // After a long overload the baseline is too high; let it drift back down.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // The limit was not reached, so latency says nothing about whether a higher one would be fine.
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+}
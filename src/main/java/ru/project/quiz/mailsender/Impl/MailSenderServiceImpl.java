@@ -1,10 +1,13 @@
 package ru.project.quiz.mailsender.Impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import ru.project.quiz.jfr.MailSendEvent;
 import ru.project.quiz.mailsender.MailSenderService;
+import ru.project.quiz.metrics.OutcomeTimer;
 
 import javax.mail.*;
 import javax.mail.internet.InternetAddress;
@@ -21,6 +24,8 @@ public class MailSenderServiceImpl implements MailSenderService {
     @Value("${mail-sender.active}")
     private String active;
     private final Properties props;
+    private final OutcomeTimer sendTimer;
+    private final static String DISABLED = "disabled";
 
     Logger log = LoggerFactory.getLogger(MailSenderServiceImpl.class);
 
@@ -36,10 +41,28 @@ public class MailSenderServiceImpl implements MailSenderService {
             "<p><span style=\"text-decoration: underline;\"><span style=\"color: #3366ff; text-decoration: underline;\"><img src=\"https://i.ibb.co/5MjPghB/lk0iec-X2p-RU.jpg\" alt=\"\" width=\"687\" height=\"386\" /></span></span></p>";
 
     public void send(String subject, String text, String toEmail) {
-        if (active.equals("disable")) {
-            log.warn("Отправка на почту отключена, будьте внимательны!");
-            return;
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        event.outcome = OutcomeTimer.FAILURE;
+        try {
+            if (active.equals("disable")) {
+                log.warn("Отправка на почту отключена, будьте внимательны!");
+                sendTimer.record(DISABLED, System.nanoTime());
+                event.outcome = DISABLED;
+                return;
+            }
+            sendTimer.record(() -> doSend(subject, text, toEmail));
+            event.outcome = OutcomeTimer.SUCCESS;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.subject = subject;
+                event.commit();
+            }
         }
+    }
+
+    private void doSend(String subject, String text, String toEmail) {
         Session session = Session.getInstance(props, new Authenticator() {
             protected PasswordAuthentication getPasswordAuthentication() {
                 return new PasswordAuthentication(username, password);
@@ -58,8 +81,9 @@ public class MailSenderServiceImpl implements MailSenderService {
         }
     }
 
-    public MailSenderServiceImpl(Properties props) {
+    public MailSenderServiceImpl(Properties props, MeterRegistry meterRegistry) {
         this.props = props;
+        this.sendTimer = new OutcomeTimer(meterRegistry, "mail.send", "Отправка письма", DISABLED);
     }
 
     public String getUsername() {
@@ -1,13 +1,18 @@
 package ru.project.quiz.mapper.quiz;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.project.quiz.domain.dto.quiz.QuizDTO;
 import ru.project.quiz.domain.entity.quiz.Quiz;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface QuizMapper {
     Quiz quizFromQuizDTO(QuizDTO quizDTO);
 
+    @Mapping(target = "name", source = "quizSample.name")
     QuizDTO quizDTOFromQuiz(Quiz quiz);
 
+    List<QuizDTO> listQuizDTOFromListQuiz(List<Quiz> quizzes);
 }
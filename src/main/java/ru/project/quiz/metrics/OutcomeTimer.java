@@ -0,0 +1,80 @@
+package ru.project.quiz.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timer tagged by outcome. Meters for the known outcomes are registered up front, so recording one
+ * is a map lookup and a timer update without touching the registry. Failures are tagged with
+ * the exception type and registered on first use.
+ */
+public class OutcomeTimer {
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String EXCEPTION_TAG = "exception";
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String description;
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final ConcurrentMap<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+    public OutcomeTimer(MeterRegistry registry, String name, String description, String... outcomes) {
+        this.registry = registry;
+        this.name = name;
+        this.description = description;
+        timers.put(SUCCESS, register(SUCCESS, NONE));
+        for (String outcome : outcomes) {
+            timers.put(outcome, register(outcome, NONE));
+        }
+    }
+
+    public <T> T record(Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            record(SUCCESS, start);
+            return result;
+        } catch (RuntimeException e) {
+            recordFailure(e, start);
+            throw e;
+        }
+    }
+
+    public void record(Runnable action) {
+        record(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * @param outcome one of the outcomes given to the constructor, or {@link #SUCCESS}
+     * @param startNanos {@link System#nanoTime()} taken when the operation started
+     */
+    public void record(String outcome, long startNanos) {
+        timers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFailure(Throwable e, long startNanos) {
+        failures.computeIfAbsent(e.getClass(), type -> register(FAILURE, type.getSimpleName()))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer register(String outcome, String exception) {
+        return Timer.builder(name)
+                .description(description)
+                .tag(OUTCOME_TAG, outcome)
+                .tag(EXCEPTION_TAG, exception)
+                .register(registry);
+    }
+}
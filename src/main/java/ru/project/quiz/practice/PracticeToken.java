@@ -0,0 +1,46 @@
+package ru.project.quiz.practice;
+
+import java.util.Arrays;
+
+/**
+ * Everything the server needs to finish a practice quiz that was never stored.
+ */
+public class PracticeToken {
+    private final long nonce;
+    private final long userId;
+    private final long sampleId;
+    private final long issuedAtEpochSecond;
+    private final long[] questionIds;
+
+    /**
+     * @param questionIds ids of the questions, kept sorted
+     */
+    public PracticeToken(long nonce, long userId, long sampleId, long issuedAtEpochSecond, long[] questionIds) {
+        this.nonce = nonce;
+        this.userId = userId;
+        this.sampleId = sampleId;
+        this.issuedAtEpochSecond = issuedAtEpochSecond;
+        this.questionIds = questionIds.clone();
+        Arrays.sort(this.questionIds);
+    }
+
+    public long getNonce() {
+        return nonce;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getSampleId() {
+        return sampleId;
+    }
+
+    public long getIssuedAtEpochSecond() {
+        return issuedAtEpochSecond;
+    }
+
+    public long[] getQuestionIds() {
+        return questionIds.clone();
+    }
+}
@@ -0,0 +1,118 @@
+package ru.project.quiz.practice;
+
+import ru.project.quiz.handler.exception.PracticeTokenException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Binary token, base64url: version, nonce (8 bytes), then varints of user id, sample id, issue time,
+ * question count and the sorted question ids as deltas, followed by a truncated HMAC-SHA256 of all of it.
+ * Deltas of sorted ids mostly fit one or two bytes, so 50 questions take a bit over 100 bytes before base64.
+ */
+public class PracticeTokenCodec {
+    private final static String badToken = "Некорректный токен тренировочного теста";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int SIGNATURE_LENGTH = 16;
+    private static final int MAX_QUESTIONS = 1000;
+
+    private final SecretKeySpec key;
+
+    public PracticeTokenCodec(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String encode(PracticeToken token) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + token.getQuestionIds().length * 2);
+        out.write(VERSION);
+        out.writeBytes(ByteBuffer.allocate(Long.BYTES).putLong(token.getNonce()).array());
+        writeVarLong(out, token.getUserId());
+        writeVarLong(out, token.getSampleId());
+        writeVarLong(out, token.getIssuedAtEpochSecond());
+        long[] questionIds = token.getQuestionIds();
+        writeVarLong(out, questionIds.length);
+        long previous = 0;
+        for (long questionId : questionIds) {
+            writeVarLong(out, questionId - previous);
+            previous = questionId;
+        }
+        byte[] payload = out.toByteArray();
+        out.writeBytes(sign(payload));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    public PracticeToken decode(String encoded) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            throw new PracticeTokenException(badToken);
+        }
+        if (bytes.length < 1 + Long.BYTES + SIGNATURE_LENGTH) {
+            throw new PracticeTokenException(badToken);
+        }
+        byte[] payload = Arrays.copyOf(bytes, bytes.length - SIGNATURE_LENGTH);
+        byte[] signature = Arrays.copyOfRange(bytes, payload.length, bytes.length);
+        if (!MessageDigest.isEqual(sign(payload), signature) || payload[0] != VERSION) {
+            throw new PracticeTokenException(badToken);
+        }
+        ByteBuffer in = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        try {
+            long nonce = in.getLong();
+            long userId = readVarLong(in);
+            long sampleId = readVarLong(in);
+            long issuedAt = readVarLong(in);
+            long count = readVarLong(in);
+            if (count > MAX_QUESTIONS) {
+                throw new PracticeTokenException(badToken);
+            }
+            long[] questionIds = new long[(int) count];
+            long previous = 0;
+            for (int i = 0; i < questionIds.length; i++) {
+                previous += readVarLong(in);
+                questionIds[i] = previous;
+            }
+            return new PracticeToken(nonce, userId, sampleId, issuedAt, questionIds);
+        } catch (RuntimeException e) {
+            throw new PracticeTokenException(badToken);
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(payload), SIGNATURE_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new PracticeTokenException(badToken);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.project.quiz.ratelimit;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Buckets shared by all nodes in the rate_limit_bucket table. The check and the update are one upsert,
+ * so concurrent requests on different nodes serialize on the bucket row. Nodes use their own clocks,
+ * which must be kept in sync.
+ */
+public class JdbcRateLimiter implements RateLimiter {
+    private static final String ACQUIRE =
+            "INSERT INTO rate_limit_bucket AS b (bucket_key, tat) VALUES (:key, :now + :interval) " +
+                    "ON CONFLICT (bucket_key) DO UPDATE SET tat = greatest(b.tat, :now) + :interval " +
+                    "WHERE greatest(b.tat, :now) + :interval - :tolerance <= :now " +
+                    "RETURNING tat";
+    private static final String FIND_TAT = "SELECT tat FROM rate_limit_bucket WHERE bucket_key = :key";
+    private static final String EVICT_IDLE = "DELETE FROM rate_limit_bucket WHERE tat <= :now";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public JdbcRateLimiter(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit, long nowMillis) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("now", nowMillis)
+                .addValue("interval", limit.intervalMillis())
+                .addValue("tolerance", limit.toleranceMillis());
+        if (!namedJdbcTemplate.queryForList(ACQUIRE, parameters, Long.class).isEmpty()) {
+            return 0;
+        }
+        List<Long> tat = namedJdbcTemplate.queryForList(FIND_TAT, parameters, Long.class);
+        if (tat.isEmpty()) {
+            return 0;
+        }
+        long allowedAt = Math.max(tat.get(0), nowMillis) + limit.intervalMillis() - limit.toleranceMillis();
+        return Math.max(1, allowedAt - nowMillis);
+    }
+
+    @Override
+    public void evictIdle(long nowMillis) {
+        namedJdbcTemplate.update(EVICT_IDLE, new MapSqlParameterSource("now", nowMillis));
+    }
+}
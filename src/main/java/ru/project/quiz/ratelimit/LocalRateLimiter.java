@@ -0,0 +1,56 @@
+package ru.project.quiz.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buckets of this node only. Each bucket is one AtomicLong updated with CAS, so there are no locks on the
+ * request path. Idle buckets are evicted on schedule and whenever the map grows past {@code maxBuckets}.
+ */
+public class LocalRateLimiter implements RateLimiter {
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+
+    Logger log = LoggerFactory.getLogger(LocalRateLimiter.class);
+
+    public LocalRateLimiter(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit, long nowMillis) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxBuckets) {
+                evictIdle(nowMillis);
+                log.warn("Превышено число корзин ограничения запросов: {}, после очистки {}", maxBuckets, buckets.size());
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowMillis));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowMillis) + limit.intervalMillis();
+            long allowedAt = next - limit.toleranceMillis();
+            if (allowedAt > nowMillis) {
+                return allowedAt - nowMillis;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void evictIdle(long nowMillis) {
+        // A token taken between the check and the removal is lost to the caller's benefit, which is harmless.
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= nowMillis);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
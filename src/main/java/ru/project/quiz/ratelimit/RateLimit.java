@@ -0,0 +1,47 @@
+package ru.project.quiz.ratelimit;
+
+/**
+ * Token bucket of {@code burst} tokens refilled at {@code perMinute} tokens a minute.
+ */
+public class RateLimit {
+    private int burst = 5;
+    private int perMinute = 20;
+
+    public RateLimit() {
+    }
+
+    public RateLimit(int burst, int perMinute) {
+        this.burst = burst;
+        this.perMinute = perMinute;
+    }
+
+    /**
+     * @return time to refill one token
+     */
+    public long intervalMillis() {
+        return 60_000L / perMinute;
+    }
+
+    /**
+     * @return how far ahead of now the bucket state may run, i.e. the time to refill a full bucket
+     */
+    public long toleranceMillis() {
+        return intervalMillis() * burst;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getPerMinute() {
+        return perMinute;
+    }
+
+    public void setPerMinute(int perMinute) {
+        this.perMinute = perMinute;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.project.quiz.ratelimit;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.project.quiz.domain.enums.ituser.PermissionType;
+import ru.project.quiz.handler.exception.RateLimitExceededException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Takes a token from the bucket of the authenticated user. Runs after security, so the key is the
+ * subject of a verified JWT; the async dispatch of the same request is not counted again.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final static String tooManyRequests = "Слишком много запросов, повторите через %d с";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (request.getDispatcherType() != DispatcherType.REQUEST || authentication == null) {
+            return true;
+        }
+        RateLimit limit = limitOf(authentication);
+        long now = System.currentTimeMillis();
+        long waitMillis = rateLimiter.tryAcquire(authentication.getName(), limit, now);
+        if (waitMillis > 0) {
+            long retryAfterSeconds = (waitMillis + 999) / 1000;
+            throw new RateLimitExceededException(String.format(tooManyRequests, retryAfterSeconds),
+                    retryAfterSeconds, (now + waitMillis + 999) / 1000);
+        }
+        return true;
+    }
+
+    private RateLimit limitOf(Authentication authentication) {
+        RateLimit best = null;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            RateLimit limit = findLimit(authority.getAuthority());
+            if (limit != null && (best == null || limit.getPerMinute() > best.getPerMinute())) {
+                best = limit;
+            }
+        }
+        return best != null ? best : properties.getDefaultLimit();
+    }
+
+    private RateLimit findLimit(String authority) {
+        for (PermissionType permissionType : properties.getLimits().keySet()) {
+            if (permissionType.name().equals(authority)) {
+                return properties.getLimits().get(permissionType);
+            }
+        }
+        return null;
+    }
+}
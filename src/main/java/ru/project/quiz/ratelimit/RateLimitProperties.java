@@ -0,0 +1,90 @@
+package ru.project.quiz.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.project.quiz.domain.enums.ituser.PermissionType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "quiz.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Mode mode = Mode.LOCAL;
+    /**
+     * Ant patterns of the limited request paths.
+     */
+    private List<String> patterns = new ArrayList<>();
+    /**
+     * Upper bound on buckets kept in memory in LOCAL mode.
+     */
+    private int maxBuckets = 100_000;
+    /**
+     * Limit for users without any permission listed in {@link #limits}.
+     */
+    private RateLimit defaultLimit = new RateLimit();
+    /**
+     * Limits by permission, a user gets the most generous one of their permissions.
+     */
+    private Map<PermissionType, RateLimit> limits = new EnumMap<>(PermissionType.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public void setPatterns(List<String> patterns) {
+        this.patterns = patterns;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public RateLimit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(RateLimit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<PermissionType, RateLimit> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<PermissionType, RateLimit> limits) {
+        this.limits = limits;
+    }
+
+    public enum Mode {
+        /**
+         * Buckets in memory of each node.
+         */
+        LOCAL,
+        /**
+         * Buckets shared by all nodes through the database.
+         */
+        JDBC
+    }
+}
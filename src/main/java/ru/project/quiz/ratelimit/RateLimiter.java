@@ -0,0 +1,20 @@
+package ru.project.quiz.ratelimit;
+
+/**
+ * Token buckets in GCRA form: a bucket is a single "theoretical arrival time" (TAT), the moment the bucket
+ * would be full again. A request takes a token by moving TAT one interval ahead, which is allowed while
+ * TAT stays within {@link RateLimit#toleranceMillis()} of now. A bucket whose TAT is in the past is full
+ * and equal to a missing one, so idle buckets can be dropped at any time.
+ */
+public interface RateLimiter {
+
+    /**
+     * @return 0 if a token was taken, otherwise milliseconds until the next token
+     */
+    long tryAcquire(String key, RateLimit limit, long nowMillis);
+
+    /**
+     * Forgets buckets that are full again.
+     */
+    void evictIdle(long nowMillis);
+}
@@ -1,10 +1,16 @@
 package ru.project.quiz.repository.ituser;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.project.quiz.domain.entity.ituser.Role;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "user.role.by-name")
+    })
     Optional<Role> findByName(String name);
 }
@@ -14,7 +14,4 @@ public interface QuestionRepository extends JpaRepository<Question,Long>, Questi
     Optional<Question> findById(Long id);
     @Query(value = "SELECT * FROM Questions ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
     List<Question> getListOfRandomQuestions(@Param("limit") int limit);
-    @Query(value = "SELECT * FROM Questions WHERE category_type IN (:category) ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    List<Question> getListQuestionsBySampleName(@Param("limit") int limit,
-                                                @Param("category") List<String> category);
 }
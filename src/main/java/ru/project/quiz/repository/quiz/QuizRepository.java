@@ -3,9 +3,28 @@ package ru.project.quiz.repository.quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.project.quiz.dao.QuizRepositoryCustom;
 import ru.project.quiz.domain.entity.quiz.Quiz;
+import ru.project.quiz.repository.quiz.projection.LeaderboardEntryView;
 
-public interface QuizRepository extends JpaRepository<Quiz,Long> {
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface QuizRepository extends JpaRepository<Quiz,Long>, QuizRepositoryCustom {
     @Query(value = "SELECT user_id FROM quiz q WHERE q.id = :quiz_search_id",nativeQuery = true)
     Long getUserIdByQuizID (@Param("quiz_search_id") Long id);
+
+    //created_at bounds let PostgreSQL prune the monthly partitions
+    @Query(value = "SELECT * FROM quiz q WHERE q.user_id = :user_id AND q.quiz_status = 'FINISHED' " +
+            "AND q.created_at >= :from ORDER BY q.created_at DESC", nativeQuery = true)
+    List<Quiz> getFinishedQuizzesByUserSince(@Param("user_id") Long userId,
+                                             @Param("from") LocalDateTime from);
+
+    @Query(value = "SELECT u.username AS username, CAST(SUM(q.score) AS BIGINT) AS totalScore, COUNT(q.id) AS quizCount " +
+            "FROM quiz q JOIN users u ON u.id = q.user_id " +
+            "WHERE q.quiz_status = 'FINISHED' AND q.created_at >= :from AND q.created_at < :to " +
+            "GROUP BY u.username ORDER BY totalScore DESC LIMIT :limit", nativeQuery = true)
+    List<LeaderboardEntryView> getLeaderboard(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("limit") int limit);
 }
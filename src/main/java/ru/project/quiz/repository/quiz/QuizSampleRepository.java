@@ -1,10 +1,16 @@
 package ru.project.quiz.repository.quiz;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.project.quiz.domain.entity.quiz.QuizSample;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface QuizSampleRepository extends JpaRepository<QuizSample, Long> {
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "quiz.sample.by-name")
+    })
     Optional<QuizSample> findByName(String name);
 }
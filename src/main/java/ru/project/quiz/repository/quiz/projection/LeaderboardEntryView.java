@@ -0,0 +1,9 @@
+package ru.project.quiz.repository.quiz.projection;
+
+public interface LeaderboardEntryView {
+    String getUsername();
+
+    Long getTotalScore();
+
+    Long getQuizCount();
+}
@@ -0,0 +1,29 @@
+package ru.project.quiz.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.project.quiz.service.idempotency.IdempotencyService;
+
+@Component
+@ConditionalOnProperty(name = "quiz.idempotency.persist", havingValue = "true")
+public class IdempotencyScheduler {
+    private final IdempotencyService idempotencyService;
+
+    Logger log = LoggerFactory.getLogger(IdempotencyScheduler.class);
+
+    public IdempotencyScheduler(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Scheduled(cron = "${quiz.idempotency.cron:0 0 * * * *}")
+    public void purgeExpired() {
+        try {
+            idempotencyService.purgeExpired();
+        } catch (RuntimeException e) {
+            log.error("Ошибка при удалении ключей идемпотентности", e);
+        }
+    }
+}
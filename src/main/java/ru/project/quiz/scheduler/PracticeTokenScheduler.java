@@ -0,0 +1,27 @@
+package ru.project.quiz.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.project.quiz.service.quiz.PracticeQuizService;
+
+@Component
+public class PracticeTokenScheduler {
+    private final PracticeQuizService practiceQuizService;
+
+    Logger log = LoggerFactory.getLogger(PracticeTokenScheduler.class);
+
+    public PracticeTokenScheduler(PracticeQuizService practiceQuizService) {
+        this.practiceQuizService = practiceQuizService;
+    }
+
+    @Scheduled(cron = "${quiz.practice.cron:0 15 * * * *}")
+    public void purgeUsedTokens() {
+        try {
+            practiceQuizService.purgeUsedTokens();
+        } catch (RuntimeException e) {
+            log.error("Ошибка при удалении токенов тренировочных тестов", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.project.quiz.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.project.quiz.catalog.QuestionCatalog;
+
+@Component
+@ConditionalOnProperty(name = "quiz.catalog.enabled", havingValue = "true")
+public class QuestionCatalogScheduler {
+    private final QuestionCatalog questionCatalog;
+
+    Logger log = LoggerFactory.getLogger(QuestionCatalogScheduler.class);
+
+    public QuestionCatalogScheduler(QuestionCatalog questionCatalog) {
+        this.questionCatalog = questionCatalog;
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.catalog.refresh-ms:5000}")
+    public void refresh() {
+        try {
+            questionCatalog.refresh();
+        } catch (RuntimeException e) {
+            log.error("Ошибка при обновлении каталога вопросов", e);
+        }
+    }
+
+    @Scheduled(cron = "${quiz.catalog.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        questionCatalog.rebuild();
+    }
+}
@@ -0,0 +1,47 @@
+package ru.project.quiz.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.project.quiz.service.quiz.QuizArchiveService;
+
+@Component
+@ConditionalOnProperty(name = "quiz.archive.enabled", havingValue = "true")
+public class QuizArchiveScheduler {
+    private final QuizArchiveService quizArchiveService;
+
+    Logger log = LoggerFactory.getLogger(QuizArchiveScheduler.class);
+
+    public QuizArchiveScheduler(QuizArchiveService quizArchiveService) {
+        this.quizArchiveService = quizArchiveService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${quiz.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            quizArchiveService.ensurePartitions();
+        } catch (RuntimeException e) {
+            log.error("Ошибка при создании партиций", e);
+        }
+    }
+
+    @Scheduled(cron = "${quiz.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        try {
+            quizArchiveService.purgeAbandonedQuizzes();
+            quizArchiveService.archiveFinishedQuizzes();
+            quizArchiveService.dropExpiredPartitions();
+        } catch (RuntimeException e) {
+            log.error("Ошибка при архивации тестов", e);
+        }
+    }
+}
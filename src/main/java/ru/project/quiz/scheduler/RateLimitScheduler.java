@@ -0,0 +1,29 @@
+package ru.project.quiz.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.project.quiz.ratelimit.RateLimiter;
+
+@Component
+@ConditionalOnProperty(name = "quiz.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitScheduler {
+    private final RateLimiter rateLimiter;
+
+    Logger log = LoggerFactory.getLogger(RateLimitScheduler.class);
+
+    public RateLimitScheduler(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        try {
+            rateLimiter.evictIdle(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Ошибка при очистке корзин ограничения запросов", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.project.quiz.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.project.quiz.datasource.ReplicaLagMonitor;
+import ru.project.quiz.datasource.RoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Component
+@ConditionalOnProperty(name = "quiz.datasource.replica.enabled", havingValue = "true")
+public class ReplicaLagScheduler {
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    Logger log = LoggerFactory.getLogger(ReplicaLagScheduler.class);
+
+    public ReplicaLagScheduler(DataSource dataSource) throws SQLException {
+        this.replicaLagMonitor = dataSource.unwrap(RoutingDataSource.class).getReplicaLagMonitor();
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.datasource.replica.lag-check-ms:1000}")
+    public void checkReplicaLag() {
+        try {
+            replicaLagMonitor.check();
+        } catch (RuntimeException e) {
+            log.error("Ошибка при проверке отставания реплики", e);
+        }
+    }
+}
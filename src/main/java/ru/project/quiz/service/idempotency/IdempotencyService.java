@@ -0,0 +1,13 @@
+package ru.project.quiz.service.idempotency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    /**
+     * @param request what the action is run for; a key repeated with a different request is rejected
+     */
+    <T> CompletableFuture<T> execute(String idempotencyKey, String operation, Object request, Class<T> type,
+                                     Supplier<CompletableFuture<T>> action);
+    void purgeExpired();
+}
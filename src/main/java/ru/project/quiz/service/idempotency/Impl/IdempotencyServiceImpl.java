@@ -0,0 +1,248 @@
+package ru.project.quiz.service.idempotency.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import ru.project.quiz.dao.IdempotencyKeyDao;
+import ru.project.quiz.dao.IdempotencyKeyDao.IdempotencyRecord;
+import ru.project.quiz.handler.exception.IdempotencyKeyException;
+import ru.project.quiz.handler.exception.IdempotencyKeyInProgressException;
+import ru.project.quiz.handler.exception.IdempotencyKeyMismatchException;
+import ru.project.quiz.service.idempotency.IdempotencyService;
+
+import javax.cache.Cache;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs an action once per Idempotency-Key of a user. The first successful result is stored as JSON in the
+ * quiz.idempotency cache (and in the idempotency_key table if persisted), repeated requests get it back
+ * without calling the action; requests arriving while the first one runs wait for its result.
+ * Failures are not stored, so a failed request can be retried with the same key.
+ * <p>
+ * The key is bound to a SHA-256 of the request, a repeat with another request is rejected. When persisted,
+ * the key is written as running before the action starts, so a repeat that reaches another node polls the
+ * table for the response instead of running the action a second time.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final static String badKey = "Некорректный ключ идемпотентности";
+    private final static String keyMismatch = "Ключ идемпотентности уже использован с другим запросом";
+    private final static String keyInProgress = "Запрос с этим ключом идемпотентности еще выполняется, повторите позже";
+    private static final int MAX_KEY_LENGTH = 128;
+    //cached values are the request hash (64 hex chars), a line break and the response
+    private static final int HASH_LENGTH = 64;
+
+    private final Cache<String, String> idempotencyCache;
+    private final IdempotencyKeyDao idempotencyKeyDao;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${quiz.idempotency.persist:false}")
+    private boolean persist;
+    @Value("${quiz.idempotency.ttl-hours:24}")
+    private long ttlHours;
+    @Value("${quiz.idempotency.claim-timeout-ms:60000}")
+    private long claimTimeoutMillis;
+    @Value("${quiz.idempotency.wait-ms:10000}")
+    private long waitMillis;
+    @Value("${quiz.idempotency.poll-ms:100}")
+    private long pollMillis;
+
+    Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    public IdempotencyServiceImpl(Cache<String, String> idempotencyCache, IdempotencyKeyDao idempotencyKeyDao, ObjectMapper objectMapper) {
+        this.idempotencyCache = idempotencyCache;
+        this.idempotencyKeyDao = idempotencyKeyDao;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(String idempotencyKey, String operation, Object request, Class<T> type,
+                                            Supplier<CompletableFuture<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException(badKey);
+        }
+        String key = SecurityContextHolder.getContext().getAuthentication().getName() + ":" + operation + ":" + idempotencyKey;
+        String requestHash = hash(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        InFlight<T> mine = new InFlight<>(requestHash, future);
+        @SuppressWarnings("unchecked")
+        InFlight<T> existing = (InFlight<T>) inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            checkHash(key, existing.requestHash, requestHash);
+            log.debug("Повторный запрос {} ожидает выполняющийся", key);
+            return existing.future;
+        }
+        boolean claimed = false;
+        try {
+            IdempotencyRecord stored = findRecord(key);
+            if (stored != null && stored.getResponse() != null) {
+                checkHash(key, stored.getRequestHash(), requestHash);
+                log.debug("Повторный запрос {} получил сохраненный ответ", key);
+                complete(key, mine, read(stored.getResponse(), type), null);
+                return future;
+            }
+            if (persist) {
+                claimed = idempotencyKeyDao.claim(key, requestHash, LocalDateTime.now().minusNanos(claimTimeoutMillis * 1_000_000));
+                if (!claimed) {
+                    log.debug("Запрос {} выполняется на другом узле, ожидаем его ответ", key);
+                    awaitOtherNode(key, requestHash, type, mine, System.currentTimeMillis() + waitMillis);
+                    return future;
+                }
+            }
+            action.get().whenComplete((value, error) -> {
+                //stored before the key leaves inFlight, so there is no window for a second execution
+                if (error == null) {
+                    saveResponse(key, requestHash, value);
+                } else {
+                    release(key);
+                }
+                complete(key, mine, value, error);
+            });
+        } catch (RuntimeException e) {
+            if (claimed) {
+                release(key);
+            }
+            complete(key, mine, null, e);
+            throw e;
+        }
+        return future;
+    }
+
+    @Override
+    public void purgeExpired() {
+        if (persist) {
+            int deleted = idempotencyKeyDao.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+            log.info("Удалено устаревших ключей идемпотентности: {}", deleted);
+        }
+    }
+
+    private <T> void awaitOtherNode(String key, String requestHash, Class<T> type, InFlight<T> mine, long deadline) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                IdempotencyRecord stored = idempotencyKeyDao.find(key).orElse(null);
+                if (stored != null && stored.getResponse() != null) {
+                    checkHash(key, stored.getRequestHash(), requestHash);
+                    idempotencyCache.put(key, cacheValue(stored.getRequestHash(), stored.getResponse()));
+                    complete(key, mine, read(stored.getResponse(), type), null);
+                } else if (stored == null || System.currentTimeMillis() > deadline) {
+                    //the other node failed and dropped the key, or is still busy; the client retries
+                    complete(key, mine, null, new IdempotencyKeyInProgressException(keyInProgress));
+                } else {
+                    awaitOtherNode(key, requestHash, type, mine, deadline);
+                }
+            } catch (RuntimeException e) {
+                complete(key, mine, null, e);
+            }
+        }, CompletableFuture.delayedExecutor(pollMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private <T> void complete(String key, InFlight<T> entry, T value, Throwable error) {
+        inFlight.remove(key, entry);
+        if (error != null) {
+            entry.future.completeExceptionally(error);
+        } else {
+            entry.future.complete(value);
+        }
+    }
+
+    private void checkHash(String key, String storedHash, String requestHash) {
+        //keys stored before request hashes were kept have none
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            log.warn("Ключ идемпотентности {} повторно использован с другим запросом", key);
+            throw new IdempotencyKeyMismatchException(keyMismatch);
+        }
+    }
+
+    private IdempotencyRecord findRecord(String key) {
+        String cached = idempotencyCache.get(key);
+        if (cached != null) {
+            return cached.length() > HASH_LENGTH && cached.charAt(HASH_LENGTH) == '\n'
+                    ? new IdempotencyRecord(cached.substring(0, HASH_LENGTH), cached.substring(HASH_LENGTH + 1))
+                    : new IdempotencyRecord(null, cached);
+        }
+        if (!persist) {
+            return null;
+        }
+        IdempotencyRecord stored = idempotencyKeyDao.find(key).orElse(null);
+        if (stored != null && stored.getResponse() != null) {
+            idempotencyCache.put(key, cacheValue(stored.getRequestHash(), stored.getResponse()));
+        }
+        return stored;
+    }
+
+    private void saveResponse(String key, String requestHash, Object value) {
+        try {
+            String response = objectMapper.writeValueAsString(value);
+            idempotencyCache.put(key, cacheValue(requestHash, response));
+            if (persist) {
+                idempotencyKeyDao.saveResponse(key, requestHash, response);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.error("Не удалось сохранить ответ для ключа идемпотентности {}", key, e);
+        }
+    }
+
+    private void release(String key) {
+        if (!persist) {
+            return;
+        }
+        try {
+            idempotencyKeyDao.release(key);
+        } catch (RuntimeException e) {
+            log.error("Не удалось снять отметку выполнения с ключа идемпотентности {}", key, e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request == null
+                    ? new byte[0]
+                    : objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(HASH_LENGTH);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String cacheValue(String requestHash, String response) {
+        return requestHash == null ? response : requestHash + "\n" + response;
+    }
+
+    private <T> T read(String response, Class<T> type) {
+        try {
+            return objectMapper.readValue(response, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class InFlight<T> {
+        private final String requestHash;
+        private final CompletableFuture<T> future;
+
+        InFlight(String requestHash, CompletableFuture<T> future) {
+            this.requestHash = requestHash;
+            this.future = future;
+        }
+    }
+}
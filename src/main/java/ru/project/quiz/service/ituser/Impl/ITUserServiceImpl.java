@@ -1,18 +1,24 @@
 package ru.project.quiz.service.ituser.Impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.project.quiz.domain.dto.ituser.ITUserDTO;
 import ru.project.quiz.domain.entity.ituser.ITUser;
 import ru.project.quiz.domain.entity.ituser.Role;
 import ru.project.quiz.domain.enums.ituser.PermissionType;
 import ru.project.quiz.handler.exception.IncorrectInputUserException;
+import ru.project.quiz.invalidation.CacheInvalidationPublisher;
+import ru.project.quiz.invalidation.CachedEntityType;
 import ru.project.quiz.mapper.ituser.UserMapper;
+import ru.project.quiz.metrics.OutcomeTimer;
 import ru.project.quiz.repository.ituser.RoleRepository;
 import ru.project.quiz.repository.ituser.UserRepository;
 import ru.project.quiz.service.ituser.ITUserService;
@@ -33,19 +39,25 @@ public class ITUserServiceImpl implements UserDetailsService, ITUserService {
     private final MailService mailService;
     private final UserMapper userMapper;
     private final Validator validator;
+    private final OutcomeTimer saveUserTimer;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
     Logger log = LoggerFactory.getLogger(ITUserServiceImpl.class);
 
-    public ITUserServiceImpl(RoleRepository roleRepository, UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder, MailService mailService, UserMapper userMapper, Validator validator) {
+    public ITUserServiceImpl(RoleRepository roleRepository, UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder, @Lazy MailService mailService, UserMapper userMapper, Validator validator, MeterRegistry meterRegistry,
+                             CacheInvalidationPublisher cacheInvalidationPublisher) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
         this.mailService = mailService;
         this.userMapper = userMapper;
         this.validator = validator;
+        this.saveUserTimer = new OutcomeTimer(meterRegistry, "user.save", "Регистрация пользователя");
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Optional<ITUser> optionalUser = userRepository.findUserByUsername(username);
         if (optionalUser.isPresent()) {
@@ -56,6 +68,10 @@ public class ITUserServiceImpl implements UserDetailsService, ITUserService {
 
     @Override
     public void saveUser(ITUserDTO itUserDTO) {
+        saveUserTimer.record(() -> doSaveUser(itUserDTO));
+    }
+
+    private void doSaveUser(ITUserDTO itUserDTO) {
         Set<ConstraintViolation<ITUserDTO>> violations = validator.validate(itUserDTO);
         if (!violations.isEmpty()) {
             throw new ConstraintViolationException(violations);
@@ -74,6 +90,7 @@ public class ITUserServiceImpl implements UserDetailsService, ITUserService {
             user.setPassword(bCryptPasswordEncoder.encode(itUserDTO.getPassword()));
             Role role = new Role("USER", Set.of(PermissionType.GENERATE_TESTS));
             roleRepository.save(role);
+            cacheInvalidationPublisher.publish(CachedEntityType.ROLE, role.getName());
             user.setRoles(Set.of(role));
             userRepository.save(user);
             mailService.registrationSuccessfulMessage(email);
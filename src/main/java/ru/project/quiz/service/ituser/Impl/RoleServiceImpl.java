@@ -5,6 +5,8 @@ import ru.project.quiz.domain.dto.ituser.ITUserDTO;
 import ru.project.quiz.domain.entity.ituser.ITUser;
 import ru.project.quiz.domain.entity.ituser.Role;
 import ru.project.quiz.domain.enums.ituser.PermissionType;
+import ru.project.quiz.invalidation.CacheInvalidationPublisher;
+import ru.project.quiz.invalidation.CachedEntityType;
 import ru.project.quiz.mapper.ituser.UserMapper;
 import ru.project.quiz.repository.ituser.RoleRepository;
 import ru.project.quiz.repository.ituser.UserRepository;
@@ -21,11 +23,14 @@ public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
-    public RoleServiceImpl(RoleRepository roleRepository, UserRepository userRepository, UserMapper userMapper) {
+    public RoleServiceImpl(RoleRepository roleRepository, UserRepository userRepository, UserMapper userMapper,
+                           CacheInvalidationPublisher cacheInvalidationPublisher) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
     }
 
     @Override
@@ -36,6 +41,7 @@ public class RoleServiceImpl implements RoleService {
         set.add(permissionType);
         role.setPermissions(set);
         roleRepository.save(role);
+        cacheInvalidationPublisher.publish(CachedEntityType.ROLE, name);
     }
 
     @Override
@@ -46,6 +52,7 @@ public class RoleServiceImpl implements RoleService {
        }
        Role role = optRole.get();
        roleRepository.delete(role);
+       cacheInvalidationPublisher.publish(CachedEntityType.ROLE, name);
     }
 
     @Override
@@ -0,0 +1,86 @@
+package ru.project.quiz.service.profiling.Impl;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import ru.project.quiz.domain.dto.profiling.RecordingDTO;
+import ru.project.quiz.handler.exception.BadPeriodException;
+import ru.project.quiz.handler.exception.RecordingException;
+import ru.project.quiz.service.profiling.ProfilingService;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Service
+public class ProfilingServiceImpl implements ProfilingService {
+    private static final String SETTINGS = "jfr/quiz.jfc";
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'quiz-'yyyyMMdd-HHmmss'.jfr'");
+
+    private final static String badDuration = "Длительность записи должна быть от 1 до %d секунд";
+    private final static String recordingInProgress = "Запись уже идет, дождитесь ее окончания";
+    private final static String recordingFailed = "Не удалось начать запись JFR";
+    private final static String noRecording = "Запись еще не запускалась";
+
+    @Value("${quiz.jfr.directory:${java.io.tmpdir}}")
+    private String directory;
+    @Value("${quiz.jfr.max-duration-seconds:300}")
+    private int maxDurationSeconds;
+
+    private Recording recording;
+    private Path recordingFile;
+
+    Logger log = LoggerFactory.getLogger(ProfilingServiceImpl.class);
+
+    @Override
+    public synchronized RecordingDTO startRecording(int seconds) {
+        if (seconds < 1 || seconds > maxDurationSeconds) {
+            throw new BadPeriodException(String.format(badDuration, maxDurationSeconds));
+        }
+        if (recording != null && recording.getState() != RecordingState.STOPPED && recording.getState() != RecordingState.CLOSED) {
+            throw new RecordingException(recordingInProgress, HttpStatus.CONFLICT);
+        }
+        try (Reader settings = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+            Path dir = Files.createDirectories(Paths.get(directory));
+            Path file = dir.resolve(LocalDateTime.now().format(FILE_NAME));
+            Recording newRecording = new Recording(Configuration.create(settings));
+            newRecording.setName("quiz-admin");
+            newRecording.setToDisk(true);
+            newRecording.setDuration(Duration.ofSeconds(seconds));
+            newRecording.setDestination(file);
+            newRecording.start();
+            if (recording != null) {
+                recording.close();
+            }
+            recording = newRecording;
+            recordingFile = file;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            log.error(recordingFailed, e);
+            throw new RecordingException(recordingFailed, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        log.info("Начата запись JFR на {} секунд в {}", seconds, recordingFile);
+        return getRecording();
+    }
+
+    @Override
+    public synchronized RecordingDTO getRecording() {
+        if (recording == null) {
+            throw new RecordingException(noRecording, HttpStatus.NOT_FOUND);
+        }
+        return new RecordingDTO(recordingFile.toString(), recording.getDuration().getSeconds(), recording.getState().name());
+    }
+}
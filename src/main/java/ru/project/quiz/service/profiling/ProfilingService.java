@@ -0,0 +1,9 @@
+package ru.project.quiz.service.profiling;
+
+import ru.project.quiz.domain.dto.profiling.RecordingDTO;
+
+public interface ProfilingService {
+    RecordingDTO startRecording(int seconds);
+
+    RecordingDTO getRecording();
+}
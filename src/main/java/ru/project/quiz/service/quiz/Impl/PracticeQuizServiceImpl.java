@@ -0,0 +1,208 @@
+package ru.project.quiz.service.quiz.Impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.project.quiz.dao.PracticeTokenDao;
+import ru.project.quiz.domain.dto.ituser.ITUserDTO;
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
+import ru.project.quiz.domain.entity.quiz.Answer;
+import ru.project.quiz.domain.entity.quiz.Question;
+import ru.project.quiz.domain.entity.quiz.QuestionQuiz;
+import ru.project.quiz.domain.entity.quiz.Quiz;
+import ru.project.quiz.domain.enums.question.QuizStatus;
+import ru.project.quiz.handler.exception.*;
+import ru.project.quiz.mapper.quiz.QuizMapper;
+import ru.project.quiz.practice.PracticeToken;
+import ru.project.quiz.practice.PracticeTokenCodec;
+import ru.project.quiz.repository.ituser.UserRepository;
+import ru.project.quiz.repository.quiz.QuestionRepository;
+import ru.project.quiz.repository.quiz.QuizRepository;
+import ru.project.quiz.repository.quiz.QuizSampleRepository;
+import ru.project.quiz.service.quiz.PracticeQuizService;
+import ru.project.quiz.service.quiz.QuizSampleLookupService;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Practice quizzes are not stored while they are solved: createPracticeQuiz hands the question set to the
+ * client in a signed {@link PracticeToken}, and finishPracticeQuiz checks the token and stores only the
+ * finished quiz. Any node can serve either step; the database only remembers which tokens were used.
+ */
+@Service
+public class PracticeQuizServiceImpl implements PracticeQuizService {
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final UserRepository userRepository;
+    private final QuizSampleRepository quizSampleRepository;
+    private final QuizSampleLookupService quizSampleLookupService;
+    private final PracticeTokenDao practiceTokenDao;
+    private final PracticeTokenCodec practiceTokenCodec;
+    private final QuizMapper quizMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${quiz.practice.ttl-minutes:120}")
+    private long ttlMinutes;
+
+    Logger log = LoggerFactory.getLogger(PracticeQuizServiceImpl.class);
+
+    public PracticeQuizServiceImpl(QuizRepository quizRepository, QuestionRepository questionRepository, UserRepository userRepository,
+                                   QuizSampleRepository quizSampleRepository, QuizSampleLookupService quizSampleLookupService,
+                                   PracticeTokenDao practiceTokenDao, PracticeTokenCodec practiceTokenCodec, QuizMapper quizMapper,
+                                   Validator validator, PlatformTransactionManager transactionManager) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.userRepository = userRepository;
+        this.quizSampleRepository = quizSampleRepository;
+        this.quizSampleLookupService = quizSampleLookupService;
+        this.practiceTokenDao = practiceTokenDao;
+        this.practiceTokenCodec = practiceTokenCodec;
+        this.quizMapper = quizMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private final static String allQuestionsSuccessfullyAdded = "Все вопросы удачно добавлены";
+    private final static String notEnoughQuestions = "В нашей базе данных нет столько вопросов, было добавлено ";
+    private final static String getRandomQuestionsError = "Ошибка в попытке получить список рандомных вопросов";
+    private final static String badNumberOfQuestions = "Количество вопросов должно быть больше 0";
+    private final static String tokenExpired = "Срок действия тренировочного теста истек";
+    private final static String foreignToken = "Тренировочный тест выдан другому пользователю";
+    private final static String questionsDoNotMatch = "Вопросы не совпадают с выданными";
+    private final static String quizAlreadyFinished = "Тест уже завершен";
+    private final static String questionsNotFound = "Некоторые вопросы тренировочного теста были удалены";
+
+    @Override
+    public QuizDTO createPracticeQuiz(int numberOfQuestions, String quizName) {
+        if (numberOfQuestions < 1) {
+            throw new BadNumberOfQuestionsException(badNumberOfQuestions);
+        }
+        ITUserDTO requestUser = (ITUserDTO) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        QuizSampleCategoriesDTO quizSample = quizSampleLookupService.findByName(quizName);
+        List<Question> listOfRandomQuestions = questionRepository.getRandomQuestionsByCategories(
+                numberOfQuestions,
+                quizSample.getCategories());
+        if (listOfRandomQuestions.isEmpty()) {
+            log.error(getRandomQuestionsError);
+            throw new QuestionNotFoundException(getRandomQuestionsError);
+        }
+        long[] questionIds = listOfRandomQuestions.stream().mapToLong(Question::getId).toArray();
+        PracticeToken token = new PracticeToken(random.nextLong(), requestUser.getId(), quizSample.getId(),
+                Instant.now().getEpochSecond(), questionIds);
+
+        Quiz quiz = new Quiz();
+        quiz.setQuizStatus(QuizStatus.CREATED);
+        quiz.setQuestions(listOfRandomQuestions.stream().map(question -> {
+            QuestionQuiz questionQuiz = new QuestionQuiz();
+            questionQuiz.setQuestion(question);
+            return questionQuiz;
+        }).collect(Collectors.toList()));
+        QuizDTO quizDTO = quizMapper.quizDTOFromQuiz(quiz);
+        quizDTO.setId(null);
+        quizDTO.setName(quizSample.getName());
+        quizDTO.setPracticeToken(practiceTokenCodec.encode(token));
+        quizDTO.setDescription(listOfRandomQuestions.size() == numberOfQuestions ?
+                allQuestionsSuccessfullyAdded :
+                notEnoughQuestions + listOfRandomQuestions.size());
+        log.info("{} получил тренировочный тест из {} вопросов", requestUser.getUsername(), questionIds.length);
+        return quizDTO;
+    }
+
+    @Override
+    public QuizDTO finishPracticeQuiz(QuizDTO quizDTO) {
+        Set<ConstraintViolation<QuizDTO>> violations = validator.validate(quizDTO);
+        if (!violations.isEmpty()) {
+            log.error(violations.toString());
+            throw new ConstraintViolationException(violations);
+        }
+        if (quizDTO.getPracticeToken() == null) {
+            throw new PracticeTokenException(questionsDoNotMatch);
+        }
+        PracticeToken token = practiceTokenCodec.decode(quizDTO.getPracticeToken());
+        ITUserDTO requestUser = (ITUserDTO) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (token.getUserId() != requestUser.getId()) {
+            throw new PracticeTokenException(foreignToken);
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                Instant.ofEpochSecond(token.getIssuedAtEpochSecond()).plusSeconds(ttlMinutes * 60), ZoneId.systemDefault());
+        if (expiresAt.isBefore(LocalDateTime.now())) {
+            throw new PracticeTokenException(tokenExpired);
+        }
+        long[] answeredIds = quizDTO.getQuestions().stream().mapToLong(questionQuizDTO -> questionQuizDTO.getQuestion().getId()).sorted().toArray();
+        if (!Arrays.equals(answeredIds, token.getQuestionIds())) {
+            throw new PracticeTokenException(questionsDoNotMatch);
+        }
+        Map<Long, Long> userChoices = new HashMap<>();
+        quizDTO.getQuestions().forEach(questionQuizDTO -> userChoices.put(questionQuizDTO.getQuestion().getId(), questionQuizDTO.getUserChoice()));
+
+        Quiz savedQuiz = transactionTemplate.execute(status -> {
+            //graded against the stored answers, the answers sent back by the client are not trusted
+            List<QuestionQuiz> questions = new ArrayList<>();
+            long correctAnswers = 0;
+            for (Question question : questionRepository.findAllById(userChoices.keySet())) {
+                Long correctAnswerId = question.getAnswers().stream()
+                        .filter(Answer::isCorrectAnswer)
+                        .map(Answer::getId)
+                        .findFirst()
+                        .orElseThrow(() -> {
+                            log.error("В вопросе {} нет правильного ответа.", question.getId());
+                            return new QuestionNotFoundException("В вопросе " + question.getId() + " нет правильного ответа.");
+                        });
+                Long userChoice = userChoices.get(question.getId());
+                if (correctAnswerId.equals(userChoice)) {
+                    correctAnswers++;
+                }
+                QuestionQuiz questionQuiz = new QuestionQuiz();
+                questionQuiz.setQuestion(question);
+                questionQuiz.setUserChoice(userChoice);
+                questions.add(questionQuiz);
+            }
+            if (questions.size() != userChoices.size()) {
+                throw new QuestionNotFoundException(questionsNotFound);
+            }
+            Quiz quiz = new Quiz();
+            quiz.setQuizStatus(QuizStatus.FINISHED);
+            quiz.setScore(correctAnswers);
+            quiz.setItUser(userRepository.getOne(token.getUserId()));
+            quiz.setQuizSample(quizSampleRepository.getOne(token.getSampleId()));
+            quiz.setQuestions(questions);
+            if (!practiceTokenDao.markUsed(token.getNonce(), expiresAt)) {
+                throw new QuizAlreadyFinishedException(quizAlreadyFinished);
+            }
+            return quizRepository.saveAndFlush(quiz);
+        });
+        quizDTO.setId(savedQuiz.getId());
+        quizDTO.setVersion(savedQuiz.getVersion());
+        quizDTO.setQuizStatus(QuizStatus.FINISHED);
+        quizDTO.setScore(savedQuiz.getScore());
+        quizDTO.setPracticeToken(null);
+        log.info("{} завершил тренировочный тест, сохранен с id: {}", requestUser.getUsername(), savedQuiz.getId());
+        return quizDTO;
+    }
+
+    @Override
+    public void purgeUsedTokens() {
+        int deleted = practiceTokenDao.deleteExpired(LocalDateTime.now());
+        log.info("Удалено использованных токенов тренировочных тестов: {}", deleted);
+    }
+}
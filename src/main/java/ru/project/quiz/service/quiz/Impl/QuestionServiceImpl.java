@@ -1,19 +1,23 @@
 package ru.project.quiz.service.quiz.Impl;
 
-
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.project.quiz.domain.dto.quiz.AnswerDTO;
 import ru.project.quiz.domain.dto.quiz.QuestionDTO;
 import ru.project.quiz.domain.entity.quiz.Question;
 import ru.project.quiz.handler.exception.QuestionCreationException;
 import ru.project.quiz.handler.exception.QuestionIsExistException;
 import ru.project.quiz.handler.exception.QuestionNotFoundException;
+import ru.project.quiz.invalidation.CacheInvalidationPublisher;
+import ru.project.quiz.invalidation.CachedEntityType;
 import ru.project.quiz.mapper.quiz.AnswerMapper;
 import ru.project.quiz.mapper.quiz.QuestionMapper;
+import ru.project.quiz.metrics.OutcomeTimer;
 import ru.project.quiz.repository.quiz.AnswerRepository;
 import ru.project.quiz.repository.quiz.QuestionRepository;
 import ru.project.quiz.service.quiz.QuestionService;
@@ -31,21 +35,26 @@ public class QuestionServiceImpl implements QuestionService {
     private final AnswerRepository answerRepository;
     private final AnswerMapper answerMapper;
     private final Validator validator;
+    private final OutcomeTimer saveQuestionTimer;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
     Logger log = LoggerFactory.getLogger(QuestionServiceImpl.class);
 
-    public QuestionServiceImpl(QuestionRepository questionRepository, QuestionMapper questionMapper, AnswerRepository answerRepository, AnswerMapper answerMapper, Validator validator) {
+    public QuestionServiceImpl(QuestionRepository questionRepository, QuestionMapper questionMapper, AnswerRepository answerRepository, AnswerMapper answerMapper, Validator validator, MeterRegistry meterRegistry, CacheInvalidationPublisher cacheInvalidationPublisher) {
         this.questionRepository = questionRepository;
         this.questionMapper = questionMapper;
         this.answerRepository = answerRepository;
         this.answerMapper = answerMapper;
         this.validator = validator;
+        this.saveQuestionTimer = new OutcomeTimer(meterRegistry, "question.save", "Добавление вопроса");
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
     }
 
     @PostConstruct
     private void getAllTablesID() {
     }
 
+    @Transactional(readOnly = true)
     public QuestionDTO getRandomQuestion() {
         Question question = questionRepository.getRandomQuestion()
                 .orElseThrow(() -> new QuestionNotFoundException("Question list is empty"));
@@ -58,6 +67,10 @@ public class QuestionServiceImpl implements QuestionService {
 
     @Override
     public void saveQuestion(QuestionDTO questionDTO) {
+        saveQuestionTimer.record(() -> doSaveQuestion(questionDTO));
+    }
+
+    private void doSaveQuestion(QuestionDTO questionDTO) {
         log.info("Попытка сохранить вопрос");
         Set<ConstraintViolation<QuestionDTO>> violations = validator.validate(questionDTO);
 
@@ -94,14 +107,16 @@ public class QuestionServiceImpl implements QuestionService {
             throw new QuestionNotFoundException("Question not found with id: " + id);
         } else {
             questionRepository.deleteById(id);
+            cacheInvalidationPublisher.publish(CachedEntityType.QUESTION, id);
         }
     }
 
     @Override
     public void editQuestion(QuestionDTO questionDTO) {
-        questionRepository.findById(questionDTO.getId())
+        Question question = questionRepository.findById(questionDTO.getId())
                 .map(questionRepository::save)
                 .orElseThrow(() -> new QuestionNotFoundException("Question not found"));
+        cacheInvalidationPublisher.publish(CachedEntityType.QUESTION, question.getId());
     }
 
     private boolean isExistQuestion(Question question) {
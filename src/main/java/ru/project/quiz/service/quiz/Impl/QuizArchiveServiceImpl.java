@@ -0,0 +1,121 @@
+package ru.project.quiz.service.quiz.Impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.project.quiz.dao.QuizPartitionDao;
+import ru.project.quiz.dao.QuizPartitions;
+import ru.project.quiz.domain.enums.question.QuizStatus;
+import ru.project.quiz.service.quiz.QuizArchiveService;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class QuizArchiveServiceImpl implements QuizArchiveService {
+    private final QuizPartitionDao quizPartitionDao;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.partitioning.months-ahead:3}")
+    private int monthsAhead;
+    @Value("${quiz.archive.finished-age-days:180}")
+    private int finishedAgeDays;
+    @Value("${quiz.archive.abandoned-age-hours:24}")
+    private int abandonedAgeHours;
+    @Value("${quiz.archive.batch-size:500}")
+    private int batchSize;
+
+    Logger log = LoggerFactory.getLogger(QuizArchiveServiceImpl.class);
+
+    public QuizArchiveServiceImpl(QuizPartitionDao quizPartitionDao, PlatformTransactionManager transactionManager) {
+        this.quizPartitionDao = quizPartitionDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (String parent : List.of(QuizPartitions.QUIZ_TABLE, QuizPartitions.QUESTIONS_QUIZ_TABLE)) {
+            if (!quizPartitionDao.isPartitioned(parent)) {
+                log.warn("Таблица {} не партиционирована, создание партиций пропущено", parent);
+                continue;
+            }
+            for (int i = 0; i <= monthsAhead; i++) {
+                quizPartitionDao.createMonthPartition(parent, current.plusMonths(i));
+            }
+        }
+    }
+
+    @Override
+    public int archiveFinishedQuizzes() {
+        if (!quizPartitionDao.tableExists(QuizPartitions.ARCHIVE_TABLE)) {
+            log.warn("Таблица {} не существует, архивация пропущена", QuizPartitions.ARCHIVE_TABLE);
+            return 0;
+        }
+        boolean archivePartitioned = quizPartitionDao.isPartitioned(QuizPartitions.ARCHIVE_TABLE);
+        LocalDateTime before = LocalDateTime.now().minusDays(finishedAgeDays);
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = quizPartitionDao.findQuizIds(QuizStatus.FINISHED.name(), before, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> batch = ids;
+            Integer moved = transactionTemplate.execute(status -> {
+                if (archivePartitioned) {
+                    quizPartitionDao.findQuizYears(batch)
+                            .forEach(year -> quizPartitionDao.createYearPartition(QuizPartitions.ARCHIVE_TABLE, year));
+                }
+                quizPartitionDao.copyToArchive(batch, before);
+                return quizPartitionDao.deleteQuizzes(batch, QuizStatus.FINISHED.name(), before);
+            });
+            total += moved == null ? 0 : moved;
+        } while (ids.size() == batchSize);
+        log.info("Перенесено в архив {} завершенных тестов старше {}", total, before);
+        return total;
+    }
+
+    @Override
+    public int purgeAbandonedQuizzes() {
+        LocalDateTime before = LocalDateTime.now().minusHours(abandonedAgeHours);
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = quizPartitionDao.findQuizIds(QuizStatus.CREATED.name(), before, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> batch = ids;
+            Integer deleted = transactionTemplate.execute(status -> quizPartitionDao.deleteQuizzes(batch, QuizStatus.CREATED.name(), before));
+            total += deleted == null ? 0 : deleted;
+        } while (ids.size() == batchSize);
+        log.info("Удалено {} брошенных тестов старше {}", total, before);
+        return total;
+    }
+
+    @Override
+    public int dropExpiredPartitions() {
+        YearMonth oldestKept = YearMonth.from(LocalDateTime.now().minusDays(finishedAgeDays));
+        int dropped = 0;
+        for (String parent : List.of(QuizPartitions.QUESTIONS_QUIZ_TABLE, QuizPartitions.QUIZ_TABLE)) {
+            if (!quizPartitionDao.isPartitioned(parent)) {
+                continue;
+            }
+            for (String partition : quizPartitionDao.findPartitions(parent)) {
+                Optional<YearMonth> month = QuizPartitions.parseMonth(parent, partition);
+                if (month.isPresent() && month.get().isBefore(oldestKept) && quizPartitionDao.isEmpty(partition)) {
+                    quizPartitionDao.dropTable(partition);
+                    log.info("Удалена пустая партиция {}", partition);
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+}
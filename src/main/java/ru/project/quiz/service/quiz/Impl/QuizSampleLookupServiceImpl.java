@@ -0,0 +1,51 @@
+package ru.project.quiz.service.quiz.Impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
+import ru.project.quiz.domain.entity.quiz.QuizSample;
+import ru.project.quiz.handler.exception.SampleNotFoundException;
+import ru.project.quiz.repository.quiz.QuizSampleRepository;
+import ru.project.quiz.service.quiz.QuizSampleLookupService;
+import ru.project.quiz.singleflight.SingleFlight;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class QuizSampleLookupServiceImpl implements QuizSampleLookupService {
+    private final QuizSampleRepository quizSampleRepository;
+    private final SingleFlight<String, QuizSampleCategoriesDTO> quizSampleSingleFlight;
+    private final TransactionTemplate transactionTemplate;
+
+    Logger log = LoggerFactory.getLogger(QuizSampleLookupServiceImpl.class);
+
+    public QuizSampleLookupServiceImpl(QuizSampleRepository quizSampleRepository,
+                                       SingleFlight<String, QuizSampleCategoriesDTO> quizSampleSingleFlight,
+                                       PlatformTransactionManager transactionManager) {
+        this.quizSampleRepository = quizSampleRepository;
+        this.quizSampleSingleFlight = quizSampleSingleFlight;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public QuizSampleCategoriesDTO findByName(String name) {
+        //only the leader opens a transaction, waiting callers do not hold connections
+        return quizSampleSingleFlight.execute(name, () -> transactionTemplate.execute(status -> load(name)));
+    }
+
+    private QuizSampleCategoriesDTO load(String name) {
+        QuizSample quizSample = quizSampleRepository.findByName(name).orElseThrow(() -> {
+            log.error("Семпл не найден с именем:  {}", name);
+            return new SampleNotFoundException("Семпл не найден");
+        });
+        List<String> categories = quizSample.getCategories().stream()
+                .map(category -> category.getCategory().name())
+                .collect(Collectors.toList());
+        return new QuizSampleCategoriesDTO(quizSample.getId(), quizSample.getName(), categories);
+    }
+}
@@ -7,6 +7,8 @@ import ru.project.quiz.domain.dto.quiz.QuizSampleDTO;
 import ru.project.quiz.domain.entity.quiz.QuizSample;
 import ru.project.quiz.handler.exception.SampleExistException;
 import ru.project.quiz.handler.exception.SampleNotFoundException;
+import ru.project.quiz.invalidation.CacheInvalidationPublisher;
+import ru.project.quiz.invalidation.CachedEntityType;
 import ru.project.quiz.mapper.quiz.QuizSampleMapper;
 import ru.project.quiz.repository.quiz.QuizSampleRepository;
 import ru.project.quiz.service.quiz.QuizSampleService;
@@ -16,10 +18,13 @@ public class QuizSampleServiceImpl implements QuizSampleService {
 
     public final QuizSampleRepository quizSampleRepository;
     public final QuizSampleMapper quizSampleMapper;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
 
-    public QuizSampleServiceImpl(QuizSampleRepository quizSampleRepository, QuizSampleMapper quizSampleMapper) {
+    public QuizSampleServiceImpl(QuizSampleRepository quizSampleRepository, QuizSampleMapper quizSampleMapper,
+                                 CacheInvalidationPublisher cacheInvalidationPublisher) {
         this.quizSampleRepository = quizSampleRepository;
         this.quizSampleMapper = quizSampleMapper;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
     }
 
     @Override
@@ -28,14 +33,17 @@ public class QuizSampleServiceImpl implements QuizSampleService {
         if(isExistSample(quizSample)){
             throw new SampleExistException("Сэмпл Существует");
         }
-        quizSampleRepository.save(quizSample);
+        QuizSample savedSample = quizSampleRepository.save(quizSample);
+        //other nodes may have cached the lookup by name as empty
+        cacheInvalidationPublisher.publish(CachedEntityType.QUIZ_SAMPLE, savedSample.getId());
     }
 
     @Override
     public void editSample(QuizSampleDTO quizSampleDTO, long id) {
-        quizSampleRepository.findById(id)
+        QuizSample quizSample = quizSampleRepository.findById(id)
                 .map(quizSampleRepository::save)
                 .orElseThrow(() -> new SampleNotFoundException("Sample not found"));
+        cacheInvalidationPublisher.publish(CachedEntityType.QUIZ_SAMPLE, id);
     }
 
     @Override
@@ -44,6 +52,7 @@ public class QuizSampleServiceImpl implements QuizSampleService {
             throw new SampleNotFoundException("Sample not found with id: " + id);
         } else {
             quizSampleRepository.deleteById(id);
+            cacheInvalidationPublisher.publish(CachedEntityType.QUIZ_SAMPLE, id);
         }
     }
 
@@ -1,32 +1,46 @@
 
 package ru.project.quiz.service.quiz.Impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.project.quiz.domain.dto.ituser.ITUserDTO;
 import ru.project.quiz.domain.dto.quiz.AnswerDTO;
+import ru.project.quiz.domain.dto.quiz.LeaderboardEntryDTO;
 import ru.project.quiz.domain.dto.quiz.QuizDTO;
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
 import ru.project.quiz.domain.entity.ituser.ITUser;
 import ru.project.quiz.domain.entity.quiz.Question;
 import ru.project.quiz.domain.entity.quiz.QuestionQuiz;
 import ru.project.quiz.domain.entity.quiz.Quiz;
-import ru.project.quiz.domain.entity.quiz.QuizSample;
 import ru.project.quiz.domain.enums.question.QuizStatus;
 import ru.project.quiz.handler.exception.*;
+import ru.project.quiz.jfr.QuizCreateEvent;
+import ru.project.quiz.jfr.QuizFinishEvent;
 import ru.project.quiz.mapper.quiz.QuizMapper;
+import ru.project.quiz.metrics.OutcomeTimer;
 import ru.project.quiz.repository.ituser.UserRepository;
 import ru.project.quiz.repository.quiz.QuestionRepository;
 import ru.project.quiz.repository.quiz.QuizRepository;
 import ru.project.quiz.repository.quiz.QuizSampleRepository;
+import ru.project.quiz.service.quiz.QuizSampleLookupService;
 import ru.project.quiz.service.quiz.QuizService;
+import ru.project.quiz.sql.SqlStatisticsHolder;
+import ru.project.quiz.timing.RequestTimings;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,18 +51,29 @@ public class QuizServiceImpl implements QuizService {
     private final QuestionRepository questionRepository;
     private final UserRepository userRepository;
     private final QuizSampleRepository quizSampleRepository;
+    private final QuizSampleLookupService quizSampleLookupService;
     private final QuizMapper quizMapper;
     private final Validator validator;
+    private final OutcomeTimer createQuizTimer;
+    private final OutcomeTimer finishQuizTimer;
+
+    @Value("${quiz.history.max-days:365}")
+    private int maxHistoryDays;
+    @Value("${quiz.leaderboard.max-size:100}")
+    private int maxLeaderboardSize;
 
     Logger log = LoggerFactory.getLogger(QuizServiceImpl.class);
 
-    public QuizServiceImpl(QuizRepository quizRepository, QuestionRepository questionRepository, UserRepository userRepository, QuizSampleRepository quizSampleRepository, QuizMapper quizMapper, Validator validator) {
+    public QuizServiceImpl(QuizRepository quizRepository, QuestionRepository questionRepository, UserRepository userRepository, QuizSampleRepository quizSampleRepository, QuizSampleLookupService quizSampleLookupService, QuizMapper quizMapper, Validator validator, MeterRegistry meterRegistry) {
         this.quizRepository = quizRepository;
         this.questionRepository = questionRepository;
         this.userRepository = userRepository;
         this.quizSampleRepository = quizSampleRepository;
+        this.quizSampleLookupService = quizSampleLookupService;
         this.quizMapper = quizMapper;
         this.validator = validator;
+        this.createQuizTimer = new OutcomeTimer(meterRegistry, "quiz.create", "Создание теста");
+        this.finishQuizTimer = new OutcomeTimer(meterRegistry, "quiz.finish", "Завершение теста");
     }
 
     private final static String allQuestionsSuccessfullyAdded = "Все вопросы удачно добавлены";
@@ -56,16 +81,42 @@ public class QuizServiceImpl implements QuizService {
     private final static String userWhoTriedCreateQuestionIsNotExist = "Юзера, который пытается задать вопрос не существует";
     private final static String getRandomQuestionsError = "Ошибка в попытке получить список рандомных вопросов";
     private final static String badNumberOfQuestions = "Количество вопросов должно быть больше 0";
+    private final static String badPeriod = "Период должен быть от 1 до %d дней";
+    private final static String badLeaderboardSize = "Размер таблицы лидеров должен быть от 1 до %d";
+    private final static String quizAlreadyFinished = "Тест уже завершен";
 
     @Override
     public QuizDTO createQuiz(int numberOfQuestions, String quizName) {
+        QuizCreateEvent event = new QuizCreateEvent();
+        long dbStart = SqlStatisticsHolder.dbNanos();
+        event.begin();
+        event.outcome = OutcomeTimer.FAILURE;
+        try {
+            QuizDTO quizDTO = createQuizTimer.record(() -> doCreateQuiz(numberOfQuestions, quizName));
+            event.returnedQuestions = quizDTO.getQuestions() == null ? 0 : quizDTO.getQuestions().size();
+            event.outcome = OutcomeTimer.SUCCESS;
+            return quizDTO;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.sampleName = quizName;
+                event.requestedQuestions = numberOfQuestions;
+                event.dbTime = SqlStatisticsHolder.dbNanos() - dbStart;
+                event.commit();
+            }
+        }
+    }
+
+    private QuizDTO doCreateQuiz(int numberOfQuestions, String quizName) {
         if (numberOfQuestions < 1) {
             throw new BadNumberOfQuestionsException(badNumberOfQuestions);
         }
         log.info("Начат процесс генерации вопроса");
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         ITUserDTO requestUser = (ITUserDTO) authentication.getPrincipal();
+        long phaseStart = RequestTimings.start();
         Optional<ITUser> user = userRepository.findUserByUsername(requestUser.getUsername());
+        RequestTimings.stop(RequestTimings.USER_LOOKUP, phaseStart);
         if (user.isEmpty()) {
             log.error(userWhoTriedCreateQuestionIsNotExist);
             throw new IncorrectInputUserException(userWhoTriedCreateQuestionIsNotExist);
@@ -76,16 +127,15 @@ public class QuizServiceImpl implements QuizService {
         quiz.setQuizStatus(QuizStatus.CREATED);
         quiz.setItUser(user.get());
 
-        Optional<QuizSample> quizSampleOptional = quizSampleRepository.findByName(quizName);
-        if (quizSampleOptional.isEmpty()) {
-            log.error("Семпл не найден с именем:  {}", quizName);
-            throw new SampleNotFoundException("Семпл не найден");
-        }
-        QuizSample quizSample = quizSampleOptional.get();
+        phaseStart = RequestTimings.start();
+        QuizSampleCategoriesDTO quizSample = quizSampleLookupService.findByName(quizName);
+        RequestTimings.stop(RequestTimings.SAMPLE_LOOKUP, phaseStart);
 
-        List<Question> listOfRandomQuestions = questionRepository.getListQuestionsBySampleName(
+        phaseStart = RequestTimings.start();
+        List<Question> listOfRandomQuestions = questionRepository.getRandomQuestionsByCategories(
                 numberOfQuestions,
-                quizSample.getCategories().stream().map(category -> category.getCategory().name()).collect(Collectors.toList()));
+                quizSample.getCategories());
+        RequestTimings.stop(RequestTimings.SAMPLING_QUERY, phaseStart);
         if (listOfRandomQuestions.isEmpty()) {
             log.error(getRandomQuestionsError);
             throw new QuestionNotFoundException(getRandomQuestionsError);
@@ -97,11 +147,15 @@ public class QuizServiceImpl implements QuizService {
             return questionQuiz;
         }).collect(Collectors.toList());
 
-        quiz.setQuizSample(quizSample);
+        quiz.setQuizSample(quizSampleRepository.getOne(quizSample.getId()));
         quiz.setQuestions(questionQuizList);
 
+        phaseStart = RequestTimings.start();
         Quiz savedQuiz = quizRepository.saveAndFlush(quiz);
+        RequestTimings.stop(RequestTimings.PERSIST, phaseStart);
+        phaseStart = RequestTimings.start();
         QuizDTO quizDTO = quizMapper.quizDTOFromQuiz(savedQuiz);
+        RequestTimings.stop(RequestTimings.MAP, phaseStart);
         quizDTO.setName(quizSample.getName());
 
         String description = listOfRandomQuestions.size() == numberOfQuestions ?
@@ -116,22 +170,33 @@ public class QuizServiceImpl implements QuizService {
 
     @Override
     public QuizDTO finishQuiz(QuizDTO quizDTO) {
+        QuizFinishEvent event = new QuizFinishEvent();
+        long dbStart = SqlStatisticsHolder.dbNanos();
+        event.begin();
+        event.outcome = OutcomeTimer.FAILURE;
+        try {
+            QuizDTO finishedQuiz = finishQuizTimer.record(() -> doFinishQuiz(quizDTO));
+            event.score = finishedQuiz.getScore();
+            event.outcome = OutcomeTimer.SUCCESS;
+            return finishedQuiz;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.quizId = quizDTO.getId() == null ? 0 : quizDTO.getId();
+                event.questionCount = quizDTO.getQuestions() == null ? 0 : quizDTO.getQuestions().size();
+                event.dbTime = SqlStatisticsHolder.dbNanos() - dbStart;
+                event.commit();
+            }
+        }
+    }
+
+    private QuizDTO doFinishQuiz(QuizDTO quizDTO) {
         Set<ConstraintViolation<QuizDTO>> violations = validator.validate(quizDTO);
         if (!violations.isEmpty()) {
             log.error(violations.toString());
             throw new ConstraintViolationException(violations);
         }
-        long countOfCorrectAnswers = quizDTO.getQuestions().stream().filter(
-                questionQuizDTO -> {
-                    Optional<AnswerDTO> answerDTO = questionQuizDTO.getQuestion().getAnswers().stream()
-                            .filter(AnswerDTO::isCorrectAnswer).findFirst();
-                    if (answerDTO.isEmpty()) {
-                        log.error("В вопросе {} нет правильного ответа.", questionQuizDTO);
-                        throw new QuestionNotFoundException("В вопросе " + questionQuizDTO + " нет правильного ответа.");
-                    }
-                    return answerDTO.get().getId() == questionQuizDTO.getUserChoice();
-                }
-        ).count();
+        long countOfCorrectAnswers = countCorrectAnswers(quizDTO, log);
         quizDTO.setQuizStatus(QuizStatus.FINISHED);
         quizDTO.setScore(countOfCorrectAnswers);
         Long userIdByQuizID = quizRepository.getUserIdByQuizID(quizDTO.getId());
@@ -141,16 +206,71 @@ public class QuizServiceImpl implements QuizService {
         }
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         ITUserDTO requestUser = (ITUserDTO) authentication.getPrincipal();
+        long phaseStart = RequestTimings.start();
         Optional<ITUser> itUser = userRepository.findUserByUsername(requestUser.getUsername());
+        RequestTimings.stop(RequestTimings.USER_LOOKUP, phaseStart);
         if (itUser.isEmpty()) {
             log.error("Пользователя, пытающегося завершить тест не существует");
             throw new IncorrectInputUserException("Пользователя, пытающегося завершить тест не существует");
         }
-        Quiz finishedQuiz = quizMapper.quizFromQuizDTO(quizDTO);
-        finishedQuiz.setItUser(itUser.get());
-        log.info("Попытка сохранить решенный вопрос с id: {}", finishedQuiz.getId());
-        quizRepository.save(finishedQuiz);
-        log.info("Попытка успешна решенный вопрос с id: {} сохранен", finishedQuiz.getId());
+        Map<Long, Long> userChoices = new HashMap<>();
+        quizDTO.getQuestions().forEach(questionQuizDTO -> userChoices.put(questionQuizDTO.getId(), questionQuizDTO.getUserChoice()));
+        log.info("Попытка сохранить решенный вопрос с id: {}", quizDTO.getId());
+        phaseStart = RequestTimings.start();
+        Optional<Long> version = quizRepository.finishQuiz(quizDTO.getId(), quizDTO.getVersion(), countOfCorrectAnswers, userChoices);
+        RequestTimings.stop(RequestTimings.PERSIST, phaseStart);
+        if (version.isEmpty()) {
+            log.warn("Тест с id: {} уже завершен или изменен другим запросом", quizDTO.getId());
+            throw new QuizAlreadyFinishedException(quizAlreadyFinished);
+        }
+        quizDTO.setVersion(version.get());
+        log.info("Попытка успешна решенный вопрос с id: {} сохранен", quizDTO.getId());
         return quizDTO;
     }
-}
\ No newline at end of file
+
+    static long countCorrectAnswers(QuizDTO quizDTO, Logger log) {
+        return quizDTO.getQuestions().stream().filter(
+                questionQuizDTO -> {
+                    Optional<AnswerDTO> answerDTO = questionQuizDTO.getQuestion().getAnswers().stream()
+                            .filter(AnswerDTO::isCorrectAnswer).findFirst();
+                    if (answerDTO.isEmpty()) {
+                        log.error("В вопросе {} нет правильного ответа.", questionQuizDTO);
+                        throw new QuestionNotFoundException("В вопросе " + questionQuizDTO + " нет правильного ответа.");
+                    }
+                    return answerDTO.get().getId() == questionQuizDTO.getUserChoice();
+                }
+        ).count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuizDTO> getHistory(int days) {
+        checkPeriod(days);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        ITUserDTO requestUser = (ITUserDTO) authentication.getPrincipal();
+        ITUser user = userRepository.findUserByUsername(requestUser.getUsername())
+                .orElseThrow(() -> new IncorrectInputUserException("Пользователя, запросившего историю, не существует"));
+        List<Quiz> quizzes = quizRepository.getFinishedQuizzesByUserSince(user.getId(), LocalDateTime.now().minusDays(days));
+        return quizMapper.listQuizDTOFromListQuiz(quizzes);
+    }
+
+    @Override
+    public List<LeaderboardEntryDTO> getLeaderboard(int days, int limit) {
+        checkPeriod(days);
+        if (limit < 1 || limit > maxLeaderboardSize) {
+            throw new BadPeriodException(String.format(badLeaderboardSize, maxLeaderboardSize));
+        }
+        //whole days keep the bounds stable between calls, so the partitions touched are predictable
+        LocalDateTime to = LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime from = to.minusDays(days);
+        return quizRepository.getLeaderboard(from, to, limit).stream()
+                .map(entry -> new LeaderboardEntryDTO(entry.getUsername(), entry.getTotalScore(), entry.getQuizCount()))
+                .collect(Collectors.toList());
+    }
+
+    private void checkPeriod(int days) {
+        if (days < 1 || days > maxHistoryDays) {
+            throw new BadPeriodException(String.format(badPeriod, maxHistoryDays));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.project.quiz.service.quiz;
+
+import ru.project.quiz.domain.dto.quiz.QuizDTO;
+
+public interface PracticeQuizService {
+    QuizDTO createPracticeQuiz(int numberOfQuestions, String quizName);
+    QuizDTO finishPracticeQuiz(QuizDTO quizDTO);
+    void purgeUsedTokens();
+}
@@ -0,0 +1,11 @@
+package ru.project.quiz.service.quiz;
+
+public interface QuizArchiveService {
+    void ensurePartitions();
+
+    int archiveFinishedQuizzes();
+
+    int purgeAbandonedQuizzes();
+
+    int dropExpiredPartitions();
+}
@@ -0,0 +1,7 @@
+package ru.project.quiz.service.quiz;
+
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
+
+public interface QuizSampleLookupService {
+    QuizSampleCategoriesDTO findByName(String name);
+}
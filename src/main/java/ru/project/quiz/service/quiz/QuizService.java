@@ -1,9 +1,14 @@
 package ru.project.quiz.service.quiz;
 
 import org.springframework.web.bind.annotation.RequestParam;
+import ru.project.quiz.domain.dto.quiz.LeaderboardEntryDTO;
 import ru.project.quiz.domain.dto.quiz.QuizDTO;
 
+import java.util.List;
+
 public interface QuizService {
     QuizDTO createQuiz (int numberOfQuestions, String quizName);
     QuizDTO finishQuiz ( QuizDTO quizDTO);
+    List<QuizDTO> getHistory(int days);
+    List<LeaderboardEntryDTO> getLeaderboard(int days, int limit);
 }
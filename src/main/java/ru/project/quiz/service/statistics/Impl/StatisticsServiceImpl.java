@@ -0,0 +1,83 @@
+package ru.project.quiz.service.statistics.Impl;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import ru.project.quiz.domain.dto.statistics.CacheRegionStatisticsDTO;
+import ru.project.quiz.domain.dto.statistics.SingleFlightStatisticsDTO;
+import ru.project.quiz.service.statistics.StatisticsService;
+import ru.project.quiz.singleflight.SingleFlight;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class StatisticsServiceImpl implements StatisticsService {
+    private static final String JCACHE_STATISTICS = "javax.cache:type=CacheStatistics,*";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final List<SingleFlight<?, ?>> singleFlights;
+
+    Logger log = LoggerFactory.getLogger(StatisticsServiceImpl.class);
+
+    public StatisticsServiceImpl(EntityManagerFactory entityManagerFactory, List<SingleFlight<?, ?>> singleFlights) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.singleFlights = singleFlights;
+    }
+
+    @Override
+    public List<CacheRegionStatisticsDTO> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> evictions = getEvictionCounts();
+        List<CacheRegionStatisticsDTO> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            result.add(new CacheRegionStatisticsDTO(region,
+                    regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount(),
+                    evictions.getOrDefault(region, 0L)));
+        }
+        result.sort(Comparator.comparing(CacheRegionStatisticsDTO::getRegion));
+        return result;
+    }
+
+    @Override
+    public List<SingleFlightStatisticsDTO> getSingleFlightStatistics() {
+        return singleFlights.stream()
+                .map(singleFlight -> new SingleFlightStatisticsDTO(singleFlight.getName(),
+                        singleFlight.getCalls(),
+                        singleFlight.getExecutions(),
+                        singleFlight.getSharedCalls(),
+                        singleFlight.getTimeouts(),
+                        singleFlight.getCoalescingRatio()))
+                .collect(Collectors.toList());
+    }
+
+    //Hibernate does not count evictions, Ehcache publishes them through the JSR-107 statistics MBeans
+    private Map<String, Long> getEvictionCounts() {
+        Map<String, Long> evictions = new HashMap<>();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : mBeanServer.queryNames(new ObjectName(JCACHE_STATISTICS), null)) {
+                String cache = name.getKeyProperty("Cache");
+                Object count = mBeanServer.getAttribute(name, "CacheEvictions");
+                evictions.put(cache.startsWith("\"") ? ObjectName.unquote(cache) : cache, (Long) count);
+            }
+        } catch (JMException e) {
+            log.warn("Не удалось получить статистику вытеснений кэша", e);
+        }
+        return evictions;
+    }
+}
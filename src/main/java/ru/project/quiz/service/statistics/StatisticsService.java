@@ -0,0 +1,12 @@
+package ru.project.quiz.service.statistics;
+
+import ru.project.quiz.domain.dto.statistics.CacheRegionStatisticsDTO;
+import ru.project.quiz.domain.dto.statistics.SingleFlightStatisticsDTO;
+
+import java.util.List;
+
+public interface StatisticsService {
+    List<CacheRegionStatisticsDTO> getCacheStatistics();
+
+    List<SingleFlightStatisticsDTO> getSingleFlightStatistics();
+}
@@ -0,0 +1,99 @@
+package ru.project.quiz.singleflight;
+
+import ru.project.quiz.handler.exception.SingleFlightTimeoutException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader,
+ * callers arriving while it is in flight wait for its result instead of repeating the work.
+ * Nothing is kept after the load completes, this is not a cache.
+ */
+public class SingleFlight<K, V> {
+    private final String name;
+    private final long timeoutMillis;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder sharedCalls = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name, long timeoutMillis) {
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        calls.increment();
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing == null) {
+            executions.increment();
+            try {
+                V value = loader.get();
+                future.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, future);
+            }
+        }
+        sharedCalls.increment();
+        return await(key, existing);
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new SingleFlightTimeoutException("Превышено время ожидания загрузки " + name + " для " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SingleFlightTimeoutException("Ожидание загрузки " + name + " прервано");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getSharedCalls() {
+        return sharedCalls.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public double getCoalescingRatio() {
+        long total = getCalls();
+        return total == 0 ? 0 : (double) getSharedCalls() / total;
+    }
+}
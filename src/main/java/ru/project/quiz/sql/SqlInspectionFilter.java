@@ -0,0 +1,91 @@
+package ru.project.quiz.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects {@link SqlStatistics} for each request, writes them to the access log and checks the endpoint's budget.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlInspectionFilter extends OncePerRequestFilter {
+    private final static String ACCESS_LOG = "{} {} {} {}ms sql={} rows={} db={}ms";
+    private static final String STATISTICS_ATTRIBUTE = SqlInspectionFilter.class.getName() + ".statistics";
+    private static final String START_ATTRIBUTE = SqlInspectionFilter.class.getName() + ".start";
+
+    private final SqlInspectionProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    Logger log = LoggerFactory.getLogger(SqlInspectionFilter.class);
+    Logger accessLog = LoggerFactory.getLogger("ru.project.quiz.access");
+
+    public SqlInspectionFilter(SqlInspectionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        //async endpoints come back through the filter on the async dispatch, where the request is complete
+        SqlStatistics statistics = (SqlStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        if (statistics == null) {
+            statistics = new SqlStatistics(request.getMethod() + " " + request.getRequestURI(), budgetFor(request.getRequestURI()));
+            request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        SqlStatisticsHolder.set(statistics);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatisticsHolder.clear();
+            if (!isAsyncStarted(request)) {
+                complete(request, response, statistics);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics) {
+        long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        accessLog.info(ACCESS_LOG, request.getMethod(), request.getRequestURI(), response.getStatus(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                statistics.getStatements(), statistics.getRows(),
+                TimeUnit.NANOSECONDS.toMillis(statistics.getDbNanos()));
+        if (properties.getMode() == SqlInspectionProperties.Mode.WARN) {
+            String violation = statistics.violation(properties.getRepeatThreshold());
+            if (violation != null) {
+                log.warn(violation);
+            }
+        }
+    }
+
+    private int budgetFor(String uri) {
+        for (Map.Entry<String, Integer> budget : properties.getBudgets().entrySet()) {
+            if (pathMatcher.match(budget.getKey(), uri)) {
+                return budget.getValue();
+            }
+        }
+        return properties.getDefaultBudget();
+    }
+}
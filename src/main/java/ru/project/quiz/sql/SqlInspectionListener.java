@@ -0,0 +1,72 @@
+package ru.project.quiz.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.project.quiz.handler.exception.SqlBudgetExceededException;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds statements, DB time and fetched rows into the current request's {@link SqlStatistics}.
+ * Statements outside an HTTP request (schedulers, startup) are not tracked.
+ */
+public class SqlInspectionListener implements QueryExecutionListener, MethodExecutionListener {
+    private static final String NEXT = "next";
+
+    private final SqlInspectionProperties properties;
+
+    Logger log = LoggerFactory.getLogger(SqlInspectionListener.class);
+
+    public SqlInspectionListener(SqlInspectionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatisticsHolder.get();
+        if (statistics != null) {
+            statistics.statementStarted(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatisticsHolder.get();
+        if (statistics == null) {
+            return;
+        }
+        statistics.statementFinished(System.nanoTime());
+        for (QueryInfo queryInfo : queryInfoList) {
+            statistics.statement(queryInfo.getQuery());
+        }
+        if (properties.getMode() == SqlInspectionProperties.Mode.FAIL) {
+            String violation = statistics.violation(properties.getRepeatThreshold());
+            if (violation != null && statistics.reportViolation()) {
+                log.error(violation);
+                throw new SqlBudgetExceededException(violation);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && NEXT.equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlStatistics statistics = SqlStatisticsHolder.get();
+            if (statistics != null) {
+                statistics.row();
+            }
+        }
+    }
+}
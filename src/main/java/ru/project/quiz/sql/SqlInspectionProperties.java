@@ -0,0 +1,70 @@
+package ru.project.quiz.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "quiz.sql-inspection")
+public class SqlInspectionProperties {
+    /**
+     * OFF only counts for the access log, WARN logs budget violations, FAIL throws at the offending statement.
+     */
+    public enum Mode {
+        OFF,
+        WARN,
+        FAIL
+    }
+
+    private boolean enabled = true;
+    private Mode mode = Mode.OFF;
+    private int defaultBudget = 20;
+    /**
+     * Statement budgets by request path (Ant pattern), the first matching pattern wins.
+     */
+    private Map<String, Integer> budgets = new LinkedHashMap<>();
+    /**
+     * How many times one statement shape may run in a request before it is reported as N+1.
+     */
+    private int repeatThreshold = 5;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getDefaultBudget() {
+        return defaultBudget;
+    }
+
+    public void setDefaultBudget(int defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    public Map<String, Integer> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<String, Integer> budgets) {
+        this.budgets = budgets;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+}
@@ -0,0 +1,105 @@
+package ru.project.quiz.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL executed on behalf of one HTTP request. Used from the request thread only.
+ */
+public class SqlStatistics {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final String endpoint;
+    private final int budget;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long dbNanos;
+    private long statementStartedAt;
+    private String repeatedShape;
+    private int repeatedCount;
+    private boolean violationReported;
+
+    public SqlStatistics(String endpoint, int budget) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+    }
+
+    void statementStarted(long nanos) {
+        statementStartedAt = nanos;
+    }
+
+    void statementFinished(long nanos) {
+        dbNanos += nanos - statementStartedAt;
+    }
+
+    void statement(String sql) {
+        statements++;
+        int count = shapes.merge(shape(sql), 1, Integer::sum);
+        if (count > repeatedCount) {
+            repeatedCount = count;
+            repeatedShape = sql;
+        }
+    }
+
+    void row() {
+        rows++;
+    }
+
+    /**
+     * @return description of the first budget violation, or null
+     */
+    String violation(int repeatThreshold) {
+        if (statements > budget) {
+            return String.format("%s выполнил %d SQL-запросов при бюджете %d", endpoint, statements, budget);
+        }
+        if (repeatedCount >= repeatThreshold) {
+            return String.format("%s повторил один запрос %d раз (возможна проблема N+1): %s", endpoint, repeatedCount, repeatedShape);
+        }
+        return null;
+    }
+
+    /**
+     * @return true the first time it is called, so a violation is reported once per request
+     */
+    boolean reportViolation() {
+        if (violationReported) {
+            return false;
+        }
+        violationReported = true;
+        return true;
+    }
+
+    /**
+     * Statement text with literals and IN lists collapsed, so that the same query with different
+     * arguments counts as one shape.
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.project.quiz.sql;
+
+/**
+ * Binds the {@link SqlStatistics} of the current request to its thread.
+ */
+public final class SqlStatisticsHolder {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private SqlStatisticsHolder() {
+    }
+
+    public static SqlStatistics get() {
+        return CURRENT.get();
+    }
+
+    public static void set(SqlStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return DB time of the current request so far, 0 outside a request
+     */
+    public static long dbNanos() {
+        SqlStatistics statistics = CURRENT.get();
+        return statistics == null ? 0 : statistics.getDbNanos();
+    }
+
+    /**
+     * @return statements executed by the current request so far, 0 outside a request
+     */
+    public static int statements() {
+        SqlStatistics statistics = CURRENT.get();
+        return statistics == null ? 0 : statistics.getStatements();
+    }
+}
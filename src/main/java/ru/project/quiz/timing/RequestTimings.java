@@ -0,0 +1,123 @@
+package ru.project.quiz.timing;
+
+import ru.project.quiz.sql.SqlStatisticsHolder;
+
+import java.util.Locale;
+
+/**
+ * Phase durations of the current request, reported in the Server-Timing header.
+ * Phases with the same name are summed. Outside a timed request {@link #start()} and
+ * {@link #stop(String, long)} do nothing, so services can mark phases unconditionally.
+ */
+public final class RequestTimings {
+    public static final String JWT = "jwt";
+    public static final String USER_LOOKUP = "user-lookup";
+    public static final String SAMPLE_LOOKUP = "sample-lookup";
+    public static final String SAMPLING_QUERY = "sampling-query";
+    public static final String PERSIST = "persist";
+    public static final String MAP = "map";
+    public static final String DB = "db";
+    public static final String TOTAL = "total";
+
+    private static final int MAX_PHASES = 16;
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final String[] names = new String[MAX_PHASES];
+    private final long[] nanos = new long[MAX_PHASES];
+    private final long startedAt = System.nanoTime();
+    private final long dbStartedAt = SqlStatisticsHolder.dbNanos();
+    private int size;
+    private boolean finished;
+
+    RequestTimings() {
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the timings to the current thread, also used to carry them over to executor threads.
+     */
+    public static void bind(RequestTimings timings) {
+        if (timings == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timings);
+        }
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return start mark for {@link #stop(String, long)}, 0 when the request is not timed
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    public static void stop(String phase, long start) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && start != 0) {
+            timings.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    void add(String phase, long duration) {
+        for (int i = 0; i < size; i++) {
+            //phase names are constants, identity is enough
+            if (names[i] == phase || names[i].equals(phase)) {
+                nanos[i] += duration;
+                return;
+            }
+        }
+        if (size < MAX_PHASES) {
+            names[size] = phase;
+            nanos[size] = duration;
+            size++;
+        }
+    }
+
+    /**
+     * Adds the db and total phases, once.
+     *
+     * @return false if the request was already finished
+     */
+    boolean finish() {
+        if (finished) {
+            return false;
+        }
+        finished = true;
+        add(DB, SqlStatisticsHolder.dbNanos() - dbStartedAt);
+        add(TOTAL, System.nanoTime() - startedAt);
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    long nanos(int index) {
+        return nanos[index];
+    }
+
+    /**
+     * @return value of the Server-Timing header, e.g. {@code jwt;dur=1.25, persist;dur=4.10}
+     */
+    String toHeader() {
+        StringBuilder header = new StringBuilder(size * 24);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                header.append(", ");
+            }
+            header.append(names[i]).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos[i] / 1_000_000.0));
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package ru.project.quiz.timing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Times the request phases marked through {@link RequestTimings} and reports them in the
+ * Server-Timing header and as MDC fields {@code timing.<phase>} (microseconds) of one log line. Timing is on for every request when
+ * {@code quiz.server-timing.enabled} is set, otherwise only for requests carrying the trigger header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String MDC_PREFIX = "timing.";
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+
+    @Value("${quiz.server-timing.enabled:false}")
+    private boolean enabled;
+    @Value("${quiz.server-timing.header:X-Server-Timing}")
+    private String triggerHeader;
+
+    Logger timingLog = LoggerFactory.getLogger("ru.project.quiz.timing");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled && request.getHeader(triggerHeader) == null;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        //async endpoints come back through the filter on the async dispatch, which writes the response
+        RequestTimings timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+        if (timings == null) {
+            timings = new RequestTimings();
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+        }
+        RequestTimings requestTimings = timings;
+        OnCommittedResponseWrapper wrapper = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                if (requestTimings.finish()) {
+                    setHeader(SERVER_TIMING, requestTimings.toHeader());
+                }
+            }
+        };
+        RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.unbind();
+            if (!isAsyncStarted(request)) {
+                if (timings.finish() && !response.isCommitted()) {
+                    response.setHeader(SERVER_TIMING, timings.toHeader());
+                }
+                log(request, timings);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, RequestTimings timings) {
+        for (int i = 0; i < timings.size(); i++) {
+            MDC.put(MDC_PREFIX + timings.name(i), Long.toString(timings.nanos(i) / 1000));
+        }
+        try {
+            timingLog.info("{} {} {}", request.getMethod(), request.getRequestURI(), timings.toHeader());
+        } finally {
+            for (int i = 0; i < timings.size(); i++) {
+                MDC.remove(MDC_PREFIX + timings.name(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package ru.project.quiz.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.project.quiz.datasource.RoutingDataSource;
+import ru.project.quiz.domain.dto.quiz.QuestionDTO;
+import ru.project.quiz.domain.dto.quiz.QuizSampleCategoriesDTO;
+import ru.project.quiz.domain.entity.ituser.Role;
+import ru.project.quiz.domain.entity.quiz.QuizSample;
+import ru.project.quiz.domain.enums.question.CategoryType;
+import ru.project.quiz.mapper.quiz.QuestionMapper;
+import ru.project.quiz.mapper.quiz.QuizMapper;
+import ru.project.quiz.repository.ituser.RoleRepository;
+import ru.project.quiz.repository.ituser.UserRepository;
+import ru.project.quiz.repository.quiz.QuestionRepository;
+import ru.project.quiz.repository.quiz.QuizRepository;
+import ru.project.quiz.repository.quiz.QuizSampleRepository;
+import ru.project.quiz.service.quiz.QuizSampleLookupService;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Warms the application up before it takes traffic: fills the connection pools, loads questions, samples
+ * and roles into the second-level cache, runs every repository query once and drives the mapping and JSON
+ * paths until the JIT has compiled them. Runners finish before Spring Boot reports readiness, so the
+ * readiness probe stays OUT_OF_SERVICE until the warm-up is done or its time is up. Each step gets an
+ * equal share of the time, so a slow step does not leave the later ones cold.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+    private final DataSource dataSource;
+    private final QuestionRepository questionRepository;
+    private final QuizRepository quizRepository;
+    private final QuizSampleRepository quizSampleRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final QuizSampleLookupService quizSampleLookupService;
+    private final QuestionMapper questionMapper;
+    private final QuizMapper quizMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.warm-up.timeout-ms:30000}")
+    private long timeoutMillis;
+    @Value("${quiz.warm-up.iterations:50}")
+    private int iterations;
+    @Value("${quiz.warm-up.sample-size:100}")
+    private int sampleSize;
+
+    Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    public WarmUpRunner(DataSource dataSource, QuestionRepository questionRepository, QuizRepository quizRepository,
+                        QuizSampleRepository quizSampleRepository, UserRepository userRepository,
+                        RoleRepository roleRepository, QuizSampleLookupService quizSampleLookupService,
+                        QuestionMapper questionMapper, QuizMapper quizMapper, ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.questionRepository = questionRepository;
+        this.quizRepository = quizRepository;
+        this.quizSampleRepository = quizSampleRepository;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.quizSampleLookupService = quizSampleLookupService;
+        this.questionMapper = questionMapper;
+        this.quizMapper = quizMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        long start = System.nanoTime();
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("пул соединений", this::fillPools);
+        steps.put("вопросы", this::warmQuestions);
+        steps.put("семплы и роли", this::warmSamplesAndRoles);
+        steps.put("запросы репозиториев", this::runQueries);
+        //a thread per step, so a step stuck past its budget does not hold up the next one
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long stepBudgetMillis = timeoutMillis / steps.size();
+            for (Map.Entry<String, Runnable> step : steps.entrySet()) {
+                step(executor, step.getKey(), step.getValue(), stepBudgetMillis);
+            }
+            log.info("Прогрев завершен за {} мс", elapsedMillis(start));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void step(ExecutorService executor, String name, Runnable step, long budgetMillis) throws InterruptedException {
+        long start = System.nanoTime();
+        Future<?> future = executor.submit(step);
+        try {
+            future.get(budgetMillis, TimeUnit.MILLISECONDS);
+            log.info("Прогрев: {} - {} мс", name, elapsedMillis(start));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Прогрев: {} - прерван через {} мс, шаг остается недогретым", name, budgetMillis);
+        } catch (ExecutionException e) {
+            //one cold path is no reason to skip the others
+            log.warn("Прогрев: {} - ошибка через {} мс", name, elapsedMillis(start), e.getCause());
+        }
+    }
+
+    private void fillPools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        try {
+            if (dataSource.isWrapperFor(RoutingDataSource.class)) {
+                pools.addAll(dataSource.unwrap(RoutingDataSource.class).getPools());
+            } else if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                pools.add(dataSource.unwrap(HikariDataSource.class));
+            }
+            for (HikariDataSource pool : pools) {
+                fillPool(pool);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось заполнить пул соединений", e);
+        }
+    }
+
+    private void fillPool(HikariDataSource pool) throws SQLException {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            connections.add(pool.getConnection());
+            //the minimum is known only after the pool has started
+            while (connections.size() < pool.getMinimumIdle() && !Thread.currentThread().isInterrupted()) {
+                connections.add(pool.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private void warmQuestions() {
+        //a fixed sample: the JIT needs repetitions, not the whole bank
+        List<QuestionDTO> questions = transactionTemplate.execute(status -> questionRepository.findAll(PageRequest.of(0, sampleSize))
+                .stream()
+                .map(questionMapper::questionDTOFromQuestion)
+                .collect(Collectors.toList()));
+        if (questions == null || questions.isEmpty()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < iterations && !Thread.currentThread().isInterrupted(); i++) {
+                for (QuestionDTO question : questions) {
+                    byte[] json = objectMapper.writeValueAsBytes(question);
+                    questionMapper.questionFromQuestionDTO(objectMapper.readValue(json, QuestionDTO.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void warmSamplesAndRoles() {
+        List<String> sampleNames = transactionTemplate.execute(status -> quizSampleRepository.findAll().stream()
+                .map(QuizSample::getName)
+                .collect(Collectors.toList()));
+        List<String> roleNames = transactionTemplate.execute(status -> roleRepository.findAll().stream()
+                .map(Role::getName)
+                .collect(Collectors.toList()));
+        try {
+            //by name goes through the query cache, which findAll does not fill
+            for (String name : sampleNames) {
+                QuizSampleCategoriesDTO sample = quizSampleLookupService.findByName(name);
+                objectMapper.writeValueAsBytes(sample);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        transactionTemplate.executeWithoutResult(status -> roleNames.forEach(roleRepository::findByName));
+    }
+
+    /**
+     * Queries with arguments that match nothing: Hibernate parses and caches the plans, the driver
+     * prepares the statements. Writes are left out, they would change data.
+     */
+    private void runQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            questionRepository.getRandomQuestion();
+            questionRepository.getListOfRandomQuestions(1);
+            questionRepository.getRandomQuestionsByCategories(1, List.of(CategoryType.values()[0].name()));
+            quizRepository.getUserIdByQuizID(-1L);
+            quizMapper.listQuizDTOFromListQuiz(quizRepository.getFinishedQuizzesByUserSince(-1L, now.minusDays(1)));
+            quizRepository.getLeaderboard(now.minusDays(1), now, 1);
+            userRepository.findUserByUsername("");
+            userRepository.existsByEmail("");
+            userRepository.findITUsersByRoleName("");
+        });
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,92 @@
+-- Schema as previously produced by hibernate ddl-auto. Existing databases are baselined at this version.
+
+CREATE SEQUENCE IF NOT EXISTS hibernate_sequence START 1 INCREMENT 1;
+
+CREATE TABLE users (
+    id         int8 NOT NULL,
+    created_at timestamp,
+    updated_at timestamp,
+    email      varchar(255),
+    password   varchar(255),
+    username   varchar(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE roles (
+    name varchar(255) NOT NULL,
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE permissions (
+    role_name  varchar(255) NOT NULL REFERENCES roles (name),
+    permission varchar(255)
+);
+
+CREATE TABLE users_roles (
+    itusers_id int8         NOT NULL REFERENCES users (id),
+    roles_name varchar(255) NOT NULL REFERENCES roles (name),
+    PRIMARY KEY (itusers_id, roles_name)
+);
+
+CREATE TABLE quiz_sample (
+    id         int8 NOT NULL,
+    created_at timestamp,
+    updated_at timestamp,
+    name       varchar(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_quiz_sample_name UNIQUE (name)
+);
+
+CREATE TABLE categories (
+    id             int8 NOT NULL,
+    created_at     timestamp,
+    updated_at     timestamp,
+    name           varchar(255),
+    quiz_sample_id int8 REFERENCES quiz_sample (id),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE questions (
+    id              int8 NOT NULL,
+    created_at      timestamp,
+    updated_at      timestamp,
+    category_type   varchar(255),
+    description     varchar(255),
+    difficulty_type varchar(255),
+    image_url       varchar(255),
+    name            varchar(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE answers (
+    id          int8    NOT NULL,
+    created_at  timestamp,
+    updated_at  timestamp,
+    is_correct  boolean NOT NULL,
+    name        varchar(255),
+    question_id int8 REFERENCES questions (id),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE quiz (
+    id               int8 NOT NULL,
+    created_at       timestamp,
+    updated_at       timestamp,
+    quiz_status      varchar(255),
+    score            int8,
+    quiz_sample_name int8 REFERENCES quiz_sample (id),
+    user_id          int8 NOT NULL REFERENCES users (id),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE questions_quiz (
+    id            int8 NOT NULL,
+    created_at    timestamp,
+    updated_at    timestamp,
+    ituser_choice int8,
+    question_id   int8 NOT NULL REFERENCES questions (id),
+    quiz_id       int8 REFERENCES quiz (id),
+    PRIMARY KEY (id)
+);
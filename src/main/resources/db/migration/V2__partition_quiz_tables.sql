@@ -0,0 +1,84 @@
+-- Converts quiz and questions_quiz into tables range-partitioned by created_at month
+-- and creates quiz_archive (yearly partitions, one compact row per archived quiz).
+-- Requires PostgreSQL 11+. Skipped when quiz is already partitioned.
+-- Monthly partitions for the future are created by QuizArchiveScheduler.
+
+DO $$
+DECLARE
+    fk          record;
+    month_start date;
+    last_month  date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'quiz'::regclass) THEN
+        RETURN;
+    END IF;
+
+    -- A foreign key can not reference a partitioned table without the partition key,
+    -- so the questions_quiz -> quiz constraint is dropped.
+    FOR fk IN
+        SELECT conname, conrelid::regclass AS tbl FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'quiz'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+
+    ALTER TABLE quiz RENAME TO quiz_legacy;
+    ALTER TABLE questions_quiz RENAME TO questions_quiz_legacy;
+
+    CREATE TABLE quiz (
+        id               int8      NOT NULL,
+        created_at       timestamp NOT NULL,
+        updated_at       timestamp,
+        quiz_status      varchar(255),
+        score            int8,
+        quiz_sample_name int8 REFERENCES quiz_sample (id),
+        user_id          int8      NOT NULL REFERENCES users (id),
+        PRIMARY KEY (id, created_at)
+    ) PARTITION BY RANGE (created_at);
+
+    CREATE TABLE questions_quiz (
+        id            int8      NOT NULL,
+        created_at    timestamp NOT NULL,
+        updated_at    timestamp,
+        ituser_choice int8,
+        question_id   int8      NOT NULL REFERENCES questions (id),
+        quiz_id       int8,
+        PRIMARY KEY (id, created_at)
+    ) PARTITION BY RANGE (created_at);
+
+    CREATE TABLE quiz_default PARTITION OF quiz DEFAULT;
+    CREATE TABLE questions_quiz_default PARTITION OF questions_quiz DEFAULT;
+
+    SELECT date_trunc('month', coalesce(min(created_at), now()))::date INTO month_start FROM quiz_legacy;
+    last_month := (date_trunc('month', now()) + interval '3 months')::date;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE quiz_p%s PARTITION OF quiz FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, 'YYYY_MM'), month_start, (month_start + interval '1 month')::date);
+        EXECUTE format('CREATE TABLE questions_quiz_p%s PARTITION OF questions_quiz FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, 'YYYY_MM'), month_start, (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+
+    INSERT INTO quiz (id, created_at, updated_at, quiz_status, score, quiz_sample_name, user_id)
+    SELECT id, coalesce(created_at, now()), updated_at, quiz_status, score, quiz_sample_name, user_id
+    FROM quiz_legacy;
+
+    INSERT INTO questions_quiz (id, created_at, updated_at, ituser_choice, question_id, quiz_id)
+    SELECT id, coalesce(created_at, now()), updated_at, ituser_choice, question_id, quiz_id
+    FROM questions_quiz_legacy;
+
+    DROP TABLE questions_quiz_legacy;
+    DROP TABLE quiz_legacy;
+END $$;
+
+CREATE TABLE IF NOT EXISTS quiz_archive (
+    id             int8      NOT NULL,
+    created_at     timestamp NOT NULL,
+    finished_at    timestamp,
+    user_id        int8      NOT NULL,
+    quiz_sample_id int8,
+    score          int8,
+    question_ids   int8[]    NOT NULL,
+    user_choices   int8[]    NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
@@ -0,0 +1,34 @@
+-- Indexes for the predicates used on request paths. Indexes on quiz and questions_quiz
+-- are declared on the partitioned parents and are created on every partition.
+
+-- QuestionRepository.getListQuestionsBySampleName: category_type IN (...); id is included
+-- so that sampling by id can be answered from the index alone.
+CREATE INDEX idx_questions_category_type_id ON questions (category_type, id);
+
+-- Question.answers is loaded for every mapped question.
+CREATE INDEX idx_answers_question_id ON answers (question_id);
+
+-- QuizSample.categories, loaded on every createQuiz.
+CREATE INDEX idx_categories_quiz_sample_id ON categories (quiz_sample_id);
+
+-- Role.permissions, loaded eagerly with every user.
+CREATE INDEX idx_permissions_role_name ON permissions (role_name);
+
+-- UserRepository.findITUsersByRoleName filters by role; the primary key only serves user -> roles.
+CREATE INDEX idx_users_roles_roles_name ON users_roles (roles_name, itusers_id);
+
+-- users(username) and users(email) are served by their unique constraints.
+
+-- Ownership checks and quiz history (QuizRepository.getFinishedQuizzesByUserSince).
+CREATE INDEX idx_quiz_user_id_created_at ON quiz (user_id, created_at DESC);
+
+-- Leaderboard: finished quizzes in a period, answered without touching the heap.
+CREATE INDEX idx_quiz_finished_created_at ON quiz (created_at) INCLUDE (user_id, score)
+    WHERE quiz_status = 'FINISHED';
+
+-- Archiver: abandoned quizzes are a small fraction of the table.
+CREATE INDEX idx_quiz_created_created_at ON quiz (created_at)
+    WHERE quiz_status = 'CREATED';
+
+-- Quiz.questions and the archiver read questions by quiz in insertion order.
+CREATE INDEX idx_questions_quiz_quiz_id ON questions_quiz (quiz_id, id);
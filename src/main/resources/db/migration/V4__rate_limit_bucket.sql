@@ -0,0 +1,6 @@
+-- Token buckets shared by all nodes when quiz.rate-limit.mode is jdbc.
+-- tat is the epoch millisecond at which the bucket is full again; rows in the past are deleted.
+CREATE TABLE rate_limit_bucket (
+    bucket_key varchar(255) PRIMARY KEY,
+    tat        int8         NOT NULL
+);
@@ -0,0 +1,10 @@
+-- First responses of requests sent with an Idempotency-Key header, kept when
+-- quiz.idempotency.persist is enabled so that retries survive restarts and reach any node.
+-- Rows older than quiz.idempotency.ttl-hours are deleted by IdempotencyScheduler.
+CREATE TABLE idempotency_key (
+    idempotency_key varchar(512) PRIMARY KEY,
+    response        text         NOT NULL,
+    created_at      timestamp    NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,3 @@
+-- Optimistic version of quiz, incremented by every status transition (QuizRepositoryCustomImpl.finishQuiz).
+-- Added on the partitioned parent, so every partition gets it.
+ALTER TABLE quiz ADD COLUMN version int8 NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Nonces of finished practice quiz tokens, so a token is finished only once on any node.
+-- Rows past expires_at are deleted by PracticeTokenScheduler: the token itself is rejected by then.
+CREATE TABLE practice_token (
+    nonce      int8      PRIMARY KEY,
+    expires_at timestamp NOT NULL
+);
+
+CREATE INDEX idx_practice_token_expires_at ON practice_token (expires_at);
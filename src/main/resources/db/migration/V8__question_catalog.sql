@@ -0,0 +1,21 @@
+-- Supports the question catalog snapshot: rows changed after the snapshot are found by their
+-- last change time, deleted rows are remembered in question_deleted.
+
+CREATE INDEX idx_questions_changed_at ON questions ((coalesce(updated_at, created_at)));
+
+CREATE TABLE question_deleted (
+    id         int8      PRIMARY KEY,
+    deleted_at timestamp NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_question_deleted_deleted_at ON question_deleted (deleted_at);
+
+CREATE OR REPLACE FUNCTION question_deleted_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO question_deleted (id) VALUES (OLD.id) ON CONFLICT (id) DO UPDATE SET deleted_at = now();
+    RETURN OLD;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER questions_deleted_tombstone
+    AFTER DELETE ON questions
+    FOR EACH ROW EXECUTE FUNCTION question_deleted_tombstone();
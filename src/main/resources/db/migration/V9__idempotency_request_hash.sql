@@ -0,0 +1,5 @@
+-- Remembers a hash of the request body with each Idempotency-Key, so a key reused with another body
+-- is rejected. A row without a response is a request still running on some node; other nodes wait
+-- for its response instead of running the request again.
+ALTER TABLE idempotency_key ADD COLUMN request_hash varchar(64);
+ALTER TABLE idempotency_key ALTER COLUMN response DROP NOT NULL;
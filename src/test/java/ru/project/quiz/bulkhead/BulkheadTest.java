@@ -0,0 +1,52 @@
+package ru.project.quiz.bulkhead;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+    @Test
+    public void rejectsAfterWaitWhenAllPermitsTaken() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("quiz", 1, 1, 50);
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(1, bulkhead.getTimeouts());
+        assertEquals(0, bulkhead.getQueued());
+
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.getAccepted());
+        assertEquals(1, bulkhead.getInFlight());
+    }
+
+    @Test
+    public void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("admin", 1, 1, 5000);
+        assertTrue(bulkhead.tryAcquire());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch waiting = new CountDownLatch(1);
+            Future<Boolean> queued = executor.submit(() -> {
+                waiting.countDown();
+                return bulkhead.tryAcquire();
+            });
+            waiting.await();
+            while (bulkhead.getQueued() == 0) {
+                Thread.sleep(1);
+            }
+            assertFalse(bulkhead.tryAcquire());
+            assertEquals(1, bulkhead.getQueueFull());
+
+            bulkhead.release();
+            assertTrue(queued.get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ru.project.quiz.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.project.quiz.domain.enums.question.CategoryType;
+import ru.project.quiz.domain.enums.question.DifficultyType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionCatalogSnapshotTest {
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("question-catalog");
+        file = directory.resolve("catalog.snapshot");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void writtenRecordsAreReadBack() throws IOException {
+        try (QuestionCatalogSnapshot.Writer writer = new QuestionCatalogSnapshot.Writer(file, 1000)) {
+            writer.add(1, 10, CategoryType.CORE, DifficultyType.EASY, "Что такое JVM?");
+            writer.add(5, 20, CategoryType.CORE, null, null);
+            writer.add(2, 30, CategoryType.COLLECTIONS, DifficultyType.HARD, "HashMap");
+            writer.commit();
+        }
+        QuestionCatalogSnapshot snapshot = QuestionCatalogSnapshot.open(file);
+
+        assertEquals(1000, snapshot.getWatermark());
+        assertEquals(3, snapshot.size());
+        assertEquals(1, snapshot.id(0));
+        assertEquals(10, snapshot.changedAt(0));
+        assertEquals(CategoryType.CORE, snapshot.category(0));
+        assertEquals(DifficultyType.EASY, snapshot.difficulty(0));
+        assertEquals("Что такое JVM?", snapshot.name(0));
+        assertNull(snapshot.difficulty(1));
+        assertNull(snapshot.name(1));
+        assertEquals("HashMap", snapshot.name(2));
+        assertEquals(0, snapshot.firstIndex(CategoryType.CORE));
+        assertEquals(2, snapshot.endIndex(CategoryType.CORE));
+        assertEquals(2, snapshot.firstIndex(CategoryType.IO));
+        assertEquals(2, snapshot.endIndex(CategoryType.IO));
+        assertEquals(3, snapshot.endIndex(CategoryType.COLLECTIONS));
+    }
+
+    @Test
+    public void outOfOrderRecordIsRejected() throws IOException {
+        try (QuestionCatalogSnapshot.Writer writer = new QuestionCatalogSnapshot.Writer(file, 0)) {
+            writer.add(2, 0, CategoryType.IO, null, "a");
+            assertThrows(IllegalArgumentException.class, () -> writer.add(1, 0, CategoryType.IO, null, "b"));
+            assertThrows(IllegalArgumentException.class, () -> writer.add(3, 0, CategoryType.CORE, null, "c"));
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void corruptedSnapshotIsNotOpened() throws IOException {
+        try (QuestionCatalogSnapshot.Writer writer = new QuestionCatalogSnapshot.Writer(file, 0)) {
+            writer.add(1, 0, CategoryType.CORE, null, "name");
+            writer.commit();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), channel.size() - 1);
+        }
+
+        assertThrows(IOException.class, () -> QuestionCatalogSnapshot.open(file));
+    }
+
+    @Test
+    public void samplingSkipsChangedAndDeletedQuestions() throws IOException {
+        try (QuestionCatalogSnapshot.Writer writer = new QuestionCatalogSnapshot.Writer(file, 0)) {
+            for (long id = 1; id <= 100; id++) {
+                writer.add(id, 0, CategoryType.CORE, null, "q" + id);
+            }
+            for (long id = 101; id <= 200; id++) {
+                writer.add(id, 0, CategoryType.IO, null, "q" + id);
+            }
+            writer.commit();
+        }
+        CatalogState state = new CatalogState(QuestionCatalogSnapshot.open(file))
+                .withDelta(Map.of(5L, CategoryType.IO, 300L, CategoryType.CORE), Set.of(6L, 7L), 50);
+
+        assertEquals(50, state.getSince());
+        Random random = new Random(1);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            List<Long> ids = state.randomIds(10, EnumSet.of(CategoryType.CORE), random);
+            assertEquals(10, ids.size());
+            assertEquals(10, new HashSet<>(ids).size());
+            seen.addAll(ids);
+        }
+        assertFalse(seen.contains(5L));
+        assertFalse(seen.contains(6L));
+        assertFalse(seen.contains(7L));
+        assertFalse(seen.stream().anyMatch(id -> id > 100 && id != 300));
+        assertTrue(seen.contains(300L));
+    }
+
+    @Test
+    public void smallPoolIsReturnedWhole() throws IOException {
+        try (QuestionCatalogSnapshot.Writer writer = new QuestionCatalogSnapshot.Writer(file, 0)) {
+            writer.add(1, 0, CategoryType.IO, null, "a");
+            writer.add(2, 0, CategoryType.IO, null, "b");
+            writer.add(3, 0, CategoryType.IO, null, "c");
+            writer.commit();
+        }
+        CatalogState state = new CatalogState(QuestionCatalogSnapshot.open(file))
+                .withDelta(Map.of(), Set.of(2L), 0);
+
+        assertEquals(Set.of(1L, 3L), new HashSet<>(state.randomIds(5, EnumSet.of(CategoryType.IO), new Random())));
+        assertTrue(state.randomIds(5, EnumSet.of(CategoryType.CORE), new Random()).isEmpty());
+    }
+}
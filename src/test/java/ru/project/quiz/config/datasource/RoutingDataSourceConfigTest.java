@@ -0,0 +1,64 @@
+package ru.project.quiz.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.project.quiz.config.sql.SqlInspectionConfig;
+import ru.project.quiz.datasource.DataSourceContextHolder;
+import ru.project.quiz.datasource.RoutingDataSource;
+import ru.project.quiz.scheduler.ReplicaLagScheduler;
+import ru.project.quiz.sql.SqlStatistics;
+import ru.project.quiz.sql.SqlStatisticsHolder;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingDataSourceConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(SqlInspectionConfig.class, RoutingDataSourceConfig.class, ReplicaLagScheduler.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:config-primary;DB_CLOSE_DELAY=-1",
+                    "quiz.sql-inspection.enabled=true",
+                    "quiz.datasource.replica.enabled=true",
+                    "quiz.datasource.replica.url=jdbc:h2:mem:config-replica;DB_CLOSE_DELAY=-1");
+
+    @AfterEach
+    public void tearDown() {
+        SqlStatisticsHolder.clear();
+        DataSourceContextHolder.clear();
+    }
+
+    @Test
+    public void startsWithReplicaAndSqlInspection() {
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertEquals(1, context.getBeansOfType(DataSource.class).size());
+            assertNotNull(context.getBean(ReplicaLagScheduler.class));
+            RoutingDataSource routingDataSource = context.getBean(DataSource.class).unwrap(RoutingDataSource.class);
+            assertNotNull(routingDataSource.getReplicaLagMonitor());
+        });
+    }
+
+    @Test
+    public void statementIsInspectedOnce() {
+        contextRunner.run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+            dataSource.unwrap(RoutingDataSource.class).getReplicaLagMonitor().update(0);
+            TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            readOnly.setReadOnly(true);
+            SqlStatistics statistics = new SqlStatistics("test", 100);
+            SqlStatisticsHolder.set(statistics);
+
+            readOnly.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class));
+
+            assertEquals(1, statistics.getStatements());
+        });
+    }
+}
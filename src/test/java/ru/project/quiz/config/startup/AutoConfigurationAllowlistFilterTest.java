@@ -0,0 +1,41 @@
+package ru.project.quiz.config.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutoConfigurationAllowlistFilterTest {
+    private static final String JACKSON = "org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration";
+    private static final String GSON = "org.springframework.boot.autoconfigure.gson.GsonAutoConfiguration";
+    private static final String SPRINGDOC = "org.springdoc.core.SpringDocConfiguration";
+
+    @Test
+    public void keepsOnlyListedAutoConfigurations() {
+        AutoConfigurationAllowlistFilter filter = new AutoConfigurationAllowlistFilter();
+        filter.setEnvironment(environment(Map.of(
+                AutoConfigurationAllowlistFilter.ALLOWLIST + "[0]", JACKSON,
+                AutoConfigurationAllowlistFilter.ALLOWLIST + "[1]", "org.springdoc.")));
+
+        boolean[] match = filter.match(new String[]{JACKSON, GSON, SPRINGDOC, null}, null);
+
+        assertArrayEquals(new boolean[]{true, false, true, true}, match);
+    }
+
+    @Test
+    public void keepsEverythingWithoutAllowlist() {
+        AutoConfigurationAllowlistFilter filter = new AutoConfigurationAllowlistFilter();
+        filter.setEnvironment(environment(Map.of()));
+
+        assertArrayEquals(new boolean[]{true, true}, filter.match(new String[]{JACKSON, GSON}, null));
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return environment;
+    }
+}
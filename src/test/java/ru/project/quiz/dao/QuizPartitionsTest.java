@@ -0,0 +1,32 @@
+package ru.project.quiz.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizPartitionsTest {
+    @Test
+    public void monthPartitionNameRoundTrip() {
+        YearMonth month = YearMonth.of(2026, 1);
+        String name = QuizPartitions.monthPartitionName(QuizPartitions.QUIZ_TABLE, month);
+        assertEquals("quiz_p2026_01", name);
+        assertEquals(Optional.of(month), QuizPartitions.parseMonth(QuizPartitions.QUIZ_TABLE, name));
+    }
+
+    @Test
+    public void foreignPartitionsAreNotParsed() {
+        assertTrue(QuizPartitions.parseMonth(QuizPartitions.QUIZ_TABLE, "quiz_default").isEmpty());
+        assertTrue(QuizPartitions.parseMonth(QuizPartitions.QUIZ_TABLE, "questions_quiz_p2026_01").isEmpty());
+    }
+
+    @Test
+    public void boundsCoverWholeMonth() {
+        YearMonth december = YearMonth.of(2025, 12);
+        assertEquals(LocalDate.of(2025, 12, 1), QuizPartitions.lowerBound(december));
+        assertEquals(LocalDate.of(2026, 1, 1), QuizPartitions.upperBound(december));
+    }
+}
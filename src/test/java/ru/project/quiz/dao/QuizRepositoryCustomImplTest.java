@@ -0,0 +1,87 @@
+package ru.project.quiz.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizRepositoryCustomImplTest {
+    private static final long QUIZ_ID = 1;
+    private static final long QUESTION_QUIZ_ID = 10;
+
+    private JdbcTemplate jdbcTemplate;
+    private QuizRepositoryCustom quizRepository;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:finish;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS questions_quiz");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS quiz");
+        jdbcTemplate.execute("CREATE TABLE quiz (id int8 PRIMARY KEY, updated_at timestamp, quiz_status varchar(255), " +
+                "score int8, version int8 NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("CREATE TABLE questions_quiz (id int8 PRIMARY KEY, updated_at timestamp, ituser_choice int8, quiz_id int8)");
+        jdbcTemplate.update("INSERT INTO quiz (id, quiz_status) VALUES (?, 'CREATED')", QUIZ_ID);
+        jdbcTemplate.update("INSERT INTO questions_quiz (id, quiz_id) VALUES (?, ?)", QUESTION_QUIZ_ID, QUIZ_ID);
+        quizRepository = new QuizRepositoryCustomImpl(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    public void concurrentFinishesSucceedExactlyOnce() throws Exception {
+        int callers = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Optional<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                long choice = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return quizRepository.finishQuiz(QUIZ_ID, null, choice, Map.of(QUESTION_QUIZ_ID, choice));
+                    } catch (DataAccessException e) {
+                        return Optional.<Long>empty();
+                    }
+                }));
+            }
+            start.countDown();
+            int finished = 0;
+            for (Future<Optional<Long>> result : results) {
+                if (result.get().isPresent()) {
+                    assertEquals(1L, result.get().get());
+                    finished++;
+                }
+            }
+            assertEquals(1, finished);
+        } finally {
+            executor.shutdownNow();
+        }
+        Map<String, Object> quiz = jdbcTemplate.queryForMap("SELECT quiz_status, score, version FROM quiz WHERE id = ?", QUIZ_ID);
+        assertEquals("FINISHED", quiz.get("quiz_status"));
+        assertEquals(1L, ((Number) quiz.get("version")).longValue());
+        Long choice = jdbcTemplate.queryForObject("SELECT ituser_choice FROM questions_quiz WHERE id = ?", Long.class, QUESTION_QUIZ_ID);
+        assertEquals(((Number) quiz.get("score")).longValue(), choice);
+    }
+
+    @Test
+    public void staleVersionDoesNotFinish() {
+        assertEquals(Optional.empty(), quizRepository.finishQuiz(QUIZ_ID, 5L, 3, Map.of(QUESTION_QUIZ_ID, 3L)));
+        assertEquals(Optional.of(1L), quizRepository.finishQuiz(QUIZ_ID, 0L, 3, Map.of(QUESTION_QUIZ_ID, 3L)));
+        assertEquals(Optional.empty(), quizRepository.finishQuiz(QUIZ_ID, 1L, 4, Map.of(QUESTION_QUIZ_ID, 4L)));
+        assertEquals("FINISHED", jdbcTemplate.queryForObject("SELECT quiz_status FROM quiz WHERE id = ?", String.class, QUIZ_ID));
+    }
+}
@@ -0,0 +1,88 @@
+package ru.project.quiz.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingDataSourceTest {
+    private RoutingDataSource routingDataSource;
+    private ReplicaLagMonitor replicaLagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    public void setUp() {
+        Map<DataSourceType, HikariDataSource> pools = new EnumMap<>(DataSourceType.class);
+        pools.put(DataSourceType.PRIMARY, database("primary"));
+        pools.put(DataSourceType.REPLICA, database("replica"));
+        replicaLagMonitor = new ReplicaLagMonitor(pools.get(DataSourceType.REPLICA), 1000);
+        replicaLagMonitor.update(0);
+        routingDataSource = new RoutingDataSource(pools, replicaLagMonitor);
+        routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DataSourceContextHolder.clear();
+        routingDataSource.close();
+    }
+
+    @Test
+    public void readOnlyTransactionReadsFromReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    public void readsStayOnPrimaryAfterWrite() {
+        readWrite.execute(status -> node());
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        DataSourceContextHolder.clear();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    public void laggingReplicaIsSkipped() {
+        replicaLagMonitor.update(5000);
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        replicaLagMonitor.update(200);
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        JdbcTemplate template = new JdbcTemplate(pool);
+        template.execute("DROP TABLE IF EXISTS node");
+        template.execute("CREATE TABLE node (name varchar(16))");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return pool;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.project.quiz.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.project.quiz.domain.entity.quiz.Question;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalCacheEvictorTest {
+    private final List<String> calls = new ArrayList<>();
+    private LocalCacheEvictor localCacheEvictor;
+
+    @BeforeEach
+    public void setUp() {
+        Cache cache = (Cache) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Cache.class},
+                (proxy, method, args) -> {
+                    calls.add(method.getName() + (args == null ? "" : Arrays.toString(args)));
+                    return null;
+                });
+        SessionFactory sessionFactory = (SessionFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{SessionFactory.class}, (proxy, method, args) -> cache);
+        EntityManagerFactory entityManagerFactory = (EntityManagerFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class[]{EntityManagerFactory.class}, (proxy, method, args) -> sessionFactory);
+        localCacheEvictor = new LocalCacheEvictor(entityManagerFactory);
+    }
+
+    @Test
+    public void questionEventEvictsEntityAndAnswers() throws Exception {
+        String payload = new ObjectMapper().writeValueAsString(
+                new CacheInvalidationEvent(CachedEntityType.QUESTION, "7", "node"));
+        localCacheEvictor.evict(new ObjectMapper().readValue(payload, CacheInvalidationEvent.class));
+
+        assertTrue(calls.contains("evictEntityData[class " + Question.class.getName() + ", 7]"));
+        assertTrue(calls.contains("evictCollectionData[" + Question.class.getName() + ".answers, 7]"));
+        assertFalse(calls.contains("evictQueryRegions"));
+    }
+
+    @Test
+    public void roleEventEvictsCachedQueries() {
+        localCacheEvictor.evict(new CacheInvalidationEvent(CachedEntityType.ROLE, "ADMIN", "node"));
+
+        assertTrue(calls.contains("evictQueryRegions"));
+    }
+}
@@ -0,0 +1,57 @@
+package ru.project.quiz.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTest {
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    public void growsWhileLatencyStaysFlat() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 10, 1.5, 0.2);
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > 20);
+        assertTrue(limit.getLimit() <= 200);
+    }
+
+    @Test
+    public void shrinksWhenLatencyGrows() {
+        GradientLimit limit = new GradientLimit(100, 4, 200, 10, 1.5, 0.2);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit());
+        }
+        int before = limit.getLimit();
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(100 * MILLIS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() < before);
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    @Test
+    public void keepsLimitWhenItIsNotReached() {
+        GradientLimit limit = new GradientLimit(50, 4, 200, 10, 1.5, 0.2);
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(10 * MILLIS, 5);
+        }
+        assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    public void shedsLowerPriorityFirst() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new GradientLimit(10, 4, 200, 10, 1.5, 0.2),
+                Arrays.asList("admin", "default"));
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire("default", 0.8) > 0);
+        }
+        assertEquals(-1, limiter.tryAcquire("default", 0.8));
+        assertTrue(limiter.tryAcquire("admin", 1.0) > 0);
+        assertEquals(1, limiter.getDropped().get("default").sum());
+        assertEquals(0, limiter.getDropped().get("admin").sum());
+    }
+}
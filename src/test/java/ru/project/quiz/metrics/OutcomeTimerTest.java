@@ -0,0 +1,26 @@
+package ru.project.quiz.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutcomeTimerTest {
+    @Test
+    public void recordsSuccessAndFailureByException() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        OutcomeTimer timer = new OutcomeTimer(registry, "test.operation", "test", "skipped");
+
+        assertEquals("ok", timer.record(() -> "ok"));
+        assertThrows(IllegalStateException.class, () -> timer.record(() -> {
+            throw new IllegalStateException();
+        }));
+        timer.record("skipped", System.nanoTime());
+
+        assertEquals(1, registry.get("test.operation").tag("outcome", OutcomeTimer.SUCCESS).timer().count());
+        assertEquals(1, registry.get("test.operation").tag("outcome", "skipped").timer().count());
+        assertEquals(1, registry.get("test.operation")
+                .tags("outcome", OutcomeTimer.FAILURE, "exception", "IllegalStateException").timer().count());
+    }
+}
@@ -0,0 +1,42 @@
+package ru.project.quiz.practice;
+
+import org.junit.jupiter.api.Test;
+import ru.project.quiz.handler.exception.PracticeTokenException;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PracticeTokenCodecTest {
+    private final PracticeTokenCodec codec = new PracticeTokenCodec("practice-secret");
+
+    @Test
+    public void roundTrip() {
+        PracticeToken token = new PracticeToken(-42L, 7, 3, 1_760_000_000L, new long[]{305, 12, 99_999, 13});
+        PracticeToken decoded = codec.decode(codec.encode(token));
+        assertEquals(-42L, decoded.getNonce());
+        assertEquals(7, decoded.getUserId());
+        assertEquals(3, decoded.getSampleId());
+        assertEquals(1_760_000_000L, decoded.getIssuedAtEpochSecond());
+        assertArrayEquals(new long[]{12, 13, 305, 99_999}, decoded.getQuestionIds());
+    }
+
+    @Test
+    public void fiftyQuestionsStayCompact() {
+        Random random = new Random(1);
+        long[] questionIds = random.longs(50, 1, 20_000).toArray();
+        String encoded = codec.encode(new PracticeToken(random.nextLong(), 123_456, 12, 1_760_000_000L, questionIds));
+        assertTrue(encoded.length() < 300, "token length " + encoded.length());
+    }
+
+    @Test
+    public void rejectsTamperedOrForeignTokens() {
+        String encoded = codec.encode(new PracticeToken(1, 7, 3, 1_760_000_000L, new long[]{1, 2, 3}));
+        char[] chars = encoded.toCharArray();
+        chars[12] = chars[12] == 'A' ? 'B' : 'A';
+        assertThrows(PracticeTokenException.class, () -> codec.decode(new String(chars)));
+        assertThrows(PracticeTokenException.class, () -> new PracticeTokenCodec("other-secret").decode(encoded));
+        assertThrows(PracticeTokenException.class, () -> codec.decode("not a token"));
+        assertThrows(PracticeTokenException.class, () -> codec.decode(""));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.project.quiz.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimiterTest {
+    private static final long NOW = 1_000_000;
+
+    @Test
+    public void allowsBurstThenRefillsAtRate() {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(100);
+        RateLimit limit = new RateLimit(3, 60);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("user", limit, NOW));
+        }
+        assertEquals(1000, rateLimiter.tryAcquire("user", limit, NOW));
+        assertEquals(500, rateLimiter.tryAcquire("user", limit, NOW + 500));
+        assertEquals(0, rateLimiter.tryAcquire("user", limit, NOW + 1000));
+        assertEquals(0, rateLimiter.tryAcquire("other", limit, NOW));
+    }
+
+    @Test
+    public void evictsOnlyFullBuckets() {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(100);
+        RateLimit limit = new RateLimit(2, 60);
+        rateLimiter.tryAcquire("idle", limit, NOW);
+        rateLimiter.tryAcquire("busy", limit, NOW + 5000);
+        rateLimiter.evictIdle(NOW + 5000);
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    public void evictsIdleBucketsWhenFull() {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(2);
+        RateLimit limit = new RateLimit(2, 60);
+        rateLimiter.tryAcquire("a", limit, NOW);
+        rateLimiter.tryAcquire("b", limit, NOW);
+        assertEquals(0, rateLimiter.tryAcquire("c", limit, NOW + 10_000));
+        assertEquals(1, rateLimiter.size());
+    }
+}
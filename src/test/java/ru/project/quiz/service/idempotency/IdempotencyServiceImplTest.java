@@ -0,0 +1,148 @@
+package ru.project.quiz.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import ru.project.quiz.dao.IdempotencyKeyDao;
+import ru.project.quiz.handler.exception.IdempotencyKeyException;
+import ru.project.quiz.handler.exception.IdempotencyKeyMismatchException;
+import ru.project.quiz.service.idempotency.Impl.IdempotencyServiceImpl;
+
+import javax.cache.Cache;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceImplTest {
+    private final Map<String, String> stored = new ConcurrentHashMap<>();
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(mapCache(stored), null, new ObjectMapper());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void concurrentDuplicatesShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<String> running = new CompletableFuture<>();
+        CompletableFuture<String> first = idempotencyService.execute("key", "/finish", "body", String.class, () -> {
+            executions.incrementAndGet();
+            return running;
+        });
+        CompletableFuture<String> duplicate = idempotencyService.execute("key", "/finish", "body", String.class, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+        assertFalse(duplicate.isDone());
+
+        running.complete("first");
+        assertEquals("first", first.get());
+        assertEquals("first", duplicate.get());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void laterDuplicateIsAnsweredFromStore() throws Exception {
+        idempotencyService.execute("key", "/create", "body", String.class, () -> CompletableFuture.completedFuture("quiz")).get();
+        String replay = idempotencyService.execute("key", "/create", "body", String.class, () -> {
+            throw new AssertionError("action must not run again");
+        }).get();
+        assertEquals("quiz", replay);
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    public void failureIsNotStored() throws Exception {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+        assertTrue(idempotencyService.execute("key", "/finish", "body", String.class, () -> failed).isCompletedExceptionally());
+        assertEquals("retry", idempotencyService.execute("key", "/finish", "body", String.class,
+                () -> CompletableFuture.completedFuture("retry")).get());
+    }
+
+    @Test
+    public void rejectsBlankKey() {
+        assertThrows(IdempotencyKeyException.class, () -> idempotencyService.execute(" ", "/finish", "body", String.class,
+                () -> CompletableFuture.completedFuture("quiz")));
+    }
+
+    @Test
+    public void keyReusedWithOtherRequestIsRejected() throws Exception {
+        idempotencyService.execute("key", "/create", "body", String.class, () -> CompletableFuture.completedFuture("quiz")).get();
+        assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyService.execute("key", "/create", "other",
+                String.class, () -> CompletableFuture.completedFuture("other quiz")));
+    }
+
+    @Test
+    public void runningKeyReusedWithOtherRequestIsRejected() {
+        idempotencyService.execute("key", "/finish", "body", String.class, CompletableFuture::new);
+        assertThrows(IdempotencyKeyMismatchException.class, () -> idempotencyService.execute("key", "/finish", "other",
+                String.class, () -> CompletableFuture.completedFuture("other quiz")));
+    }
+
+    @Test
+    public void requestRunningOnOtherNodeIsAwaited() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        IdempotencyKeyDao dao = new IdempotencyKeyDao(null) {
+            @Override
+            public Optional<IdempotencyKeyDao.IdempotencyRecord> find(String key) {
+                //running on the other node for the first lookups, then finished there
+                return Optional.of(new IdempotencyKeyDao.IdempotencyRecord(null,
+                        lookups.incrementAndGet() < 3 ? null : "\"quiz\""));
+            }
+
+            @Override
+            public boolean claim(String key, String requestHash, LocalDateTime staleBefore) {
+                return false;
+            }
+        };
+        IdempotencyService persisted = new IdempotencyServiceImpl(mapCache(stored), dao, new ObjectMapper());
+        setField(persisted, "persist", true);
+        setField(persisted, "waitMillis", 10_000L);
+        setField(persisted, "pollMillis", 1L);
+
+        String response = persisted.execute("key", "/finish", "body", String.class, () -> {
+            throw new AssertionError("action must not run on a second node");
+        }).get();
+        assertEquals("quiz", response);
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<String, String> mapCache(Map<String, String> map) {
+        return (Cache<String, String>) Proxy.newProxyInstance(Cache.class.getClassLoader(), new Class<?>[]{Cache.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            return map.get(args[0]);
+                        case "put":
+                            map.put((String) args[0], (String) args[1]);
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
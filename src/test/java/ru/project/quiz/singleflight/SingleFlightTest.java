@@ -0,0 +1,83 @@
+package ru.project.quiz.singleflight;
+
+import org.junit.jupiter.api.Test;
+import ru.project.quiz.handler.exception.SingleFlightTimeoutException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    @Test
+    public void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", 5000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("java", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            while (singleFlight.getSharedCalls() < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.getExecutions());
+        assertEquals(callers - 1, singleFlight.getSharedCalls());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    public void failureIsSharedAndNotCached() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", 5000);
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("java", () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(7, singleFlight.execute("java", () -> 7));
+    }
+
+    @Test
+    public void waitingCallerTimesOut() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", 50);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> singleFlight.execute("java", () -> {
+                await(release);
+                return 1;
+            }));
+            while (singleFlight.getInFlight() == 0) {
+                Thread.sleep(1);
+            }
+            assertThrows(SingleFlightTimeoutException.class, () -> singleFlight.execute("java", () -> 2));
+            assertEquals(1, singleFlight.getTimeouts());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.project.quiz.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsTest {
+    @Test
+    public void shapeIgnoresLiteralsAndInListLength() {
+        assertEquals(SqlStatistics.shape("select * from questions where id in (?, ?, ?)"),
+                SqlStatistics.shape("select * from questions where id in (?)"));
+        assertEquals(SqlStatistics.shape("select * from users where username='admin' and id=1"),
+                SqlStatistics.shape("select * from users where username='it''s' and id=42"));
+    }
+
+    @Test
+    public void reportsBudgetAndRepeatedShapes() {
+        SqlStatistics budget = new SqlStatistics("GET /api/quiz", 2);
+        budget.statement("select 1");
+        budget.statement("select a from b");
+        assertNull(budget.violation(5));
+        budget.statement("select c from d");
+        assertNotNull(budget.violation(5));
+
+        SqlStatistics repeats = new SqlStatistics("GET /api/quiz", 100);
+        for (int i = 0; i < 5; i++) {
+            repeats.statement("select * from answers where question_id=" + i);
+        }
+        assertNotNull(repeats.violation(5));
+        assertTrue(repeats.reportViolation());
+        assertFalse(repeats.reportViolation());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.project.quiz.timing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+    @Test
+    public void sumsRepeatedPhasesIntoHeader() {
+        RequestTimings timings = new RequestTimings();
+        timings.add(RequestTimings.USER_LOOKUP, 1_000_000);
+        timings.add(RequestTimings.PERSIST, 2_500_000);
+        timings.add(RequestTimings.USER_LOOKUP, 500_000);
+
+        assertEquals("user-lookup;dur=1.50, persist;dur=2.50", timings.toHeader());
+        assertTrue(timings.finish());
+        assertFalse(timings.finish());
+    }
+
+    @Test
+    public void doesNothingOutsideTimedRequest() {
+        long start = RequestTimings.start();
+        assertEquals(0, start);
+        RequestTimings.stop(RequestTimings.MAP, start);
+
+        RequestTimings timings = new RequestTimings();
+        RequestTimings.bind(timings);
+        try {
+            RequestTimings.stop(RequestTimings.MAP, RequestTimings.start());
+        } finally {
+            RequestTimings.unbind();
+        }
+        assertEquals(1, timings.size());
+        assertEquals(RequestTimings.MAP, timings.name(0));
+    }
+}